@@ -0,0 +1,99 @@
+package site.aiion.api.gateway.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 읽기 replica 라우팅 (database.replica.url이 설정된 경우에만).
+ * readOnly 트랜잭션(SimpleJpaRepository 조회 포함)은 replica 풀, 나머지는 primary 풀로 보냄.
+ * 두 풀은 각각 Hikari 빈이라 hikaricp.* 메트릭이 pool 태그(primary / replica)로 따로 집계됨.
+ * replica URL이 없으면 이 설정은 빠지고 기존처럼 spring.datasource 단일 풀을 사용.
+ */
+@Configuration
+@ConditionalOnExpression("!'${database.replica.url:}'.isBlank()")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("database.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${database.replica.url}") String url,
+            @Value("${database.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${database.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * JPA 등 애플리케이션이 쓰는 DataSource.
+     * 실제 커넥션을 첫 SQL 시점까지 미루므로, 그때 확정된 readOnly 여부로 primary / replica를 고를 수 있음.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        ReadReplicaRoutingDataSource readOnlyRouting = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource);
+        readOnlyRouting.afterPropertiesSet();
+        // 쓰기용 커넥션을 실제로 잡는 시점(첫 SQL)에 트랜잭션 안이면, 이 요청의 이후 읽기도 primary로 (read-your-writes)
+        DataSource pinningPrimary = new DelegatingDataSource(primaryDataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    ReadReplicaRoutingDataSource.pinToPrimary();
+                }
+                return super.getConnection();
+            }
+        };
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(pinningPrimary);
+        proxy.setReadOnlyDataSource(readOnlyRouting);
+        return proxy;
+    }
+
+    /** 요청이 끝나면 primary 고정 해제 (스레드 재사용 대비) */
+    @Bean
+    public OncePerRequestFilter readReplicaPinFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    ReadReplicaRoutingDataSource.clearPin();
+                }
+            }
+        };
+    }
+}
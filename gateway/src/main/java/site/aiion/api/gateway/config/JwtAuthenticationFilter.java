@@ -0,0 +1,82 @@
+package site.aiion.api.gateway.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
+import site.aiion.api.services.oauth.util.JwtTokenProvider;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 요청당 한 번 JWT를 검증해 JwtPrincipal을 SecurityContext에 넣는 필터.
+ * 컨트롤러는 @AuthenticationPrincipal JwtPrincipal로 받고, 인증 필수 경로는 SecurityConfig에서 선언.
+ * 토큰이 없거나 유효하지 않으면 익명으로 통과시키고 거절은 인가 단계에 맡김.
+ * 모든 사용자는 ROLE_USER, security.admin-user-ids에 있는 사용자는 ROLE_ADMIN도 받음.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    /** ROLE_ADMIN을 줄 사용자 ID (JWT subject) */
+    private final Set<String> adminUserIds;
+
+    /**
+     * @param adminUserIds 쉼표로 구분한 관리자 사용자 ID (비어 있으면 관리자 없음)
+     */
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, String adminUserIds) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.adminUserIds = adminUserIds == null ? Set.of() : Arrays.stream(adminUserIds.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null) {
+            jwtTokenProvider.verify(token)
+                    // Refresh Token은 /api/auth/refresh 전용 (쿠키로만 전달) - API 인증에는 사용 불가
+                    .filter(principal -> !"refresh".equals(principal.type()))
+                    .ifPresent(this::authenticate);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void authenticate(JwtPrincipal principal) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, adminUserIds.contains(principal.userId())
+                        ? AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN")
+                        : AuthorityUtils.createAuthorityList("ROLE_USER"));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    /**
+     * Authorization: Bearer 헤더의 토큰.
+     * EventSource는 헤더를 보낼 수 없으므로 SSE 스트림(/stream) 요청에 한해 token 쿼리 파라미터도 허용.
+     */
+    private static String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+            if (!token.isBlank()) return token;
+        }
+        if (request.getRequestURI().endsWith("/stream")) {
+            String token = request.getParameter("token");
+            if (token != null && !token.isBlank()) return token;
+        }
+        return null;
+    }
+}
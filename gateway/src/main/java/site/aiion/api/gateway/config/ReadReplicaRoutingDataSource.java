@@ -0,0 +1,70 @@
+package site.aiion.api.gateway.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션이 사용하는 DataSource.
+ * 평소에는 replica로 보내고, 같은 스레드(요청)에서 이미 쓰기를 했거나 onPrimary로 감싼 구간이면
+ * primary로 보내 방금 쓴 데이터를 replica 지연 때문에 못 읽는 일이 없게 함.
+ * 쓰기 트랜잭션은 LazyConnectionDataSourceProxy가 처음부터 primary로 보냄 (DataSourceRoutingConfig).
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    /**
+     * true면 이 스레드의 읽기도 primary로.
+     * 요청 스레드는 요청 끝에 readReplicaPinFilter가 해제하고, 그 밖의 스레드(스케줄러, 비동기 작업 등)는
+     * 고정한 트랜잭션이 끝날 때 해제 (필터를 거치지 않으므로 스레드 재사용 시 계속 primary로 가는 것 방지).
+     */
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Boolean.TRUE.equals(PINNED.get()) ? PRIMARY : REPLICA;
+    }
+
+    /** 현재 스레드의 이후 읽기를 primary로 고정 (쓰기 직후 read-your-writes 보장) */
+    public static void pinToPrimary() {
+        if (Boolean.TRUE.equals(PINNED.get())) return;
+        PINNED.set(Boolean.TRUE);
+        if (RequestContextHolder.getRequestAttributes() == null
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clearPin();
+                }
+            });
+        }
+    }
+
+    public static void clearPin() {
+        PINNED.remove();
+    }
+
+    /** 블록 안의 읽기를 primary로 실행 (이전 고정 상태는 복원) */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) PINNED.remove();
+            else PINNED.set(previous);
+        }
+    }
+}
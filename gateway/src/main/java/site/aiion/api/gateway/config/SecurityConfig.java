@@ -1,17 +1,26 @@
 package site.aiion.api.gateway.config;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import site.aiion.api.services.oauth.util.JwtTokenProvider;
+
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -30,9 +39,14 @@ public class SecurityConfig {
      * - 세션 정책: STATELESS (JWT 기반 인증)
      * - 보안 헤더 추가
      * - OAuth 엔드포인트는 허용 (기존 컨트롤러 사용)
+     * - JWT는 JwtAuthenticationFilter가 요청당 한 번 검증하고, 인증 필수 경로는 아래에서 선언
+     * - health/info 외 Actuator는 관리자(security.admin-user-ids)만
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${security.admin-user-ids:}") String adminUserIds) throws Exception {
         http
             // CSRF 설정
             // API는 JWT 기반이므로 세션 기반 CSRF는 비활성화
@@ -50,12 +64,28 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             
+            // JWT 검증 필터 (요청당 1회, 결과는 SecurityContext의 JwtPrincipal)
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, adminUserIds), UsernamePasswordAuthenticationFilter.class)
+            
             // 요청 인가 설정
-            // 주의: JWT 토큰 검증은 컨트롤러 레벨에서 처리하므로
-            // Spring Security는 모든 API 엔드포인트를 permitAll()로 설정
-            // 실제 인증은 각 컨트롤러에서 JwtTokenUtil/JwtTokenProvider로 검증
             .authorizeHttpRequests(auth -> auth
-                // 모든 API 엔드포인트 허용 (JWT 검증은 컨트롤러 레벨에서 처리)
+                // SSE 완료/오류 시의 비동기 재디스패치는 최초 요청에서 이미 인가됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                
+                // 로그인 필요 API
+                .requestMatchers(
+                    "/api/whisper/**",            // 귓속말 (전송, 수신함, 보낸함, 스트림)
+                    "/api/friends/**",            // 친구 요청/목록
+                    "/api/users/honor/vote",      // 명예도 투표
+                    "/api/groupchat/rooms",       // 단체채팅 방 목록 (명예도별 입장 가능 여부)
+                    "/api/groupchat/history",     // 단체채팅 이전 메시지 (방별)
+                    "/api/groupchat/recent",      // 단체채팅 최근 메시지 (방별)
+                    "/api/groupchat/stream"       // 단체채팅 SSE
+                ).authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/groupchat").authenticated()        // 단체채팅 전송
+                .requestMatchers(HttpMethod.DELETE, "/api/groupchat/all").authenticated()  // 단체채팅 전체 삭제 (관리자)
+                
+                // 그 외 API는 허용 (로그인 시 principal만 채워짐)
                 .requestMatchers("/api/**").permitAll()
                 
                 // Swagger UI 및 문서
@@ -69,6 +99,8 @@ public class SecurityConfig {
                     "/actuator/health",           // Health check
                     "/actuator/info"              // Info endpoint
                 ).permitAll()
+                // 그 외 Actuator (groupchat 연결 현황 등 사용자 ID 포함) - 노출했더라도 관리자만
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // 기타 요청은 허용
                 .anyRequest().permitAll()
@@ -87,6 +119,22 @@ public class SecurityConfig {
                 )
             )
             
+            // 인증 필수 경로에 유효한 토큰이 없으면 기존 응답 형식(Messenger)으로 401, 권한이 없으면 403
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint((request, response, authException) -> {
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                    response.getWriter().write("{\"code\":401,\"message\":\"인증이 필요합니다.\"}");
+                })
+                .accessDeniedHandler((request, response, accessDeniedException) -> {
+                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                    response.getWriter().write("{\"code\":403,\"message\":\"권한이 없습니다.\"}");
+                })
+            )
+            
             // 기본 인증 비활성화 (JWT 기반 인증 사용)
             .httpBasic(AbstractHttpConfigurer::disable)
             
@@ -0,0 +1,153 @@
+package site.aiion.api.services.groupchat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SSE 전송 단계.
+ * 브로드캐스트 호출자는 구독자별 큐에 프레임만 넣고 바로 반환하며, 실제 emitter.send는
+ * 가상 스레드 writer가 구독자마다 하나씩 순서대로 처리. 느린 클라이언트 하나가 방 전체나
+ * 메시지 저장(POST) 요청을 붙잡지 않도록 함.
+ * batch-window-ms > 0이면 첫 프레임 이후 그 시간 동안 쌓인 프레임을 모아 구독자당 한 번의 write/flush로 전송
+ * (메시지당 지연은 최대 window만큼 늘어나는 대신 버스트 시 syscall·패킷 수가 줄어듦).
+ */
+@Slf4j
+@Component
+public class ChatDispatcher {
+
+    /** 큐가 가득 찼을 때 처리 방식 */
+    public enum OverflowPolicy {
+        /** 가장 오래된 대기 프레임을 버리고 새 프레임을 넣음 */
+        DROP_OLDEST,
+        /** resync 이벤트를 보내고 연결 종료 (클라이언트는 lastId로 재연결) */
+        DISCONNECT
+    }
+
+    private static final SseFrame RESYNC_FRAME = SseFrame.event(null, "resync", "{\"reason\":\"overflow\"}");
+
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long batchWindowMillis;
+    /** write 1회에 담는 최대 프레임 수 (배치 비활성화 시 1) */
+    private final int batchMaxFrames;
+    private final DistributionSummary batchSizes;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    /** 배치 모드에서 window 경과 후 writer를 깨우는 타이머 (비활성화 시 null) */
+    private final ScheduledExecutorService batchTimer;
+
+    public ChatDispatcher(
+            MeterRegistry meterRegistry,
+            @Value("${groupchat.sse.queue-capacity:256}") int queueCapacity,
+            @Value("${groupchat.sse.overflow-policy:DISCONNECT}") OverflowPolicy overflowPolicy,
+            @Value("${groupchat.sse.batch-window-ms:0}") long batchWindowMillis,
+            @Value("${groupchat.sse.batch-max-frames:64}") int batchMaxFrames) {
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.batchWindowMillis = Math.max(0L, batchWindowMillis);
+        this.batchMaxFrames = this.batchWindowMillis > 0 ? Math.max(1, batchMaxFrames) : 1;
+        this.batchSizes = DistributionSummary.builder("groupchat.sse.batch.size")
+                .description("SSE write 1회당 프레임 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchTimer = this.batchWindowMillis > 0
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "sse-batch-timer");
+                    t.setDaemon(true);
+                    return t;
+                })
+                : null;
+    }
+
+    /** 구독자 큐에 프레임 추가 후 writer 예약. 호출 스레드는 I/O를 기다리지 않음 */
+    public void enqueue(ChatSubscriber subscriber, SseFrame frame) {
+        if (subscriber.isClosed()) return;
+        if (!subscriber.offer(frame, queueCapacity)) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                subscriber.poll();
+                if (!subscriber.offer(frame, queueCapacity)) return;
+                log.debug("SSE 큐 초과 - 오래된 프레임 버림: emitterId={}", subscriber.getId());
+            } else {
+                disconnect(subscriber);
+                return;
+            }
+        }
+        scheduleDrain(subscriber);
+    }
+
+    /** 대기 프레임을 버리고 resync 이벤트만 보낸 뒤 연결 종료 */
+    private void disconnect(ChatSubscriber subscriber) {
+        if (!subscriber.markClosed()) return;
+        log.info("SSE 큐 초과 - resync 후 연결 종료: emitterId={}, pending={}", subscriber.getId(), subscriber.getPendingCount());
+        subscriber.clearPending();
+        subscriber.forceOffer(RESYNC_FRAME);
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(ChatSubscriber subscriber) {
+        if (!subscriber.tryStartDrain()) return;
+        if (batchTimer != null) {
+            batchTimer.schedule(() -> writers.execute(() -> drain(subscriber)), batchWindowMillis, TimeUnit.MILLISECONDS);
+        } else {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(ChatSubscriber subscriber) {
+        try {
+            List<SseFrame> batch = new ArrayList<>(batchMaxFrames);
+            while (true) {
+                batch.clear();
+                boolean resync = false;
+                SseFrame frame;
+                while (batch.size() < batchMaxFrames && (frame = subscriber.poll()) != null) {
+                    batch.add(frame);
+                    if (frame == RESYNC_FRAME) {
+                        resync = true;
+                        break;
+                    }
+                }
+                if (batch.isEmpty()) return;
+                SseFrame.writeAll(subscriber.getEmitter(), batch);
+                batchSizes.record(batch.size());
+                for (SseFrame sent : batch) {
+                    subscriber.recordSent(sent);
+                }
+                if (resync) {
+                    subscriber.clearPending();
+                    subscriber.fireClose();
+                    subscriber.getEmitter().complete();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("SSE 전송 실패(연결 끊김): emitterId={}", subscriber.getId(), e);
+            subscriber.markClosed();
+            subscriber.clearPending();
+            subscriber.fireClose();
+        } finally {
+            subscriber.finishDrain();
+            if (subscriber.hasPending()) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batchTimer != null) {
+            batchTimer.shutdownNow();
+        }
+        writers.shutdown();
+    }
+}
@@ -0,0 +1,140 @@
+package site.aiion.api.services.groupchat;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SSE 구독자 1건: emitter, 마지막으로 보낸 메시지 ID(cursor), 구독 중인 방을 한 곳에 묶음.
+ * 전송 대기 프레임 큐(outbound)는 ChatDispatcher의 writer가 비움.
+ * 단체채팅 외 스트림(귓속말 등)도 같은 전송 경로를 쓰며, 이때 room은 null.
+ * 연결 정보(userId, 연결 시각, 전송 바이트/메시지 수)는 actuator groupchat 엔드포인트에서 조회.
+ */
+public class ChatSubscriber {
+
+    @Getter
+    private final long id;
+    @Getter
+    private final Long userId;
+    @Getter
+    private final SseEmitter emitter;
+    @Getter
+    private final ChatRoomType room;
+    @Getter
+    private final AtomicLong lastMessageId;
+    @Getter
+    private final Instant connectedAt = Instant.now();
+
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+
+    private final ConcurrentLinkedQueue<SseFrame> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger outboundSize = new AtomicInteger();
+    /** writer가 이 구독자의 큐를 비우는 중인지 (구독자당 writer 하나만 동작) */
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    /** SseHeartbeatWheel에서 배정한 슬롯 (-1: 미배정) */
+    volatile int heartbeatSlot = -1;
+    /** 전송 실패/resync 종료 시 호출할 정리 작업 (구독 목록에서 제거 등, 스트림 소유자가 지정) */
+    private volatile Runnable closeHandler = () -> {};
+
+    public ChatSubscriber(long id, Long userId, SseEmitter emitter, ChatRoomType room, long lastMessageId) {
+        this.id = id;
+        this.userId = userId;
+        this.emitter = emitter;
+        this.room = room;
+        this.lastMessageId = new AtomicLong(lastMessageId);
+    }
+
+    /** messageId가 cursor보다 크면 cursor를 올리고 true (같은 메시지 중복 전송 방지) */
+    public boolean advanceTo(long messageId) {
+        long current;
+        do {
+            current = lastMessageId.get();
+            if (messageId <= current) return false;
+        } while (!lastMessageId.compareAndSet(current, messageId));
+        return true;
+    }
+
+    /** 프레임 전송 완료 기록 */
+    public void recordSent(SseFrame frame) {
+        bytesSent.add(frame.length());
+        if (frame.isEvent()) messagesSent.increment();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    /** 전송 대기 중인 프레임 수 */
+    public int getPendingCount() {
+        return outboundSize.get();
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /** 큐가 가득 차 있으면 false (capacity 초과 처리는 호출자 정책에 따름) */
+    boolean offer(SseFrame frame, int capacity) {
+        if (outboundSize.incrementAndGet() > capacity) {
+            outboundSize.decrementAndGet();
+            return false;
+        }
+        outbound.offer(frame);
+        return true;
+    }
+
+    /** capacity와 무관하게 넣음 (resync 등 마지막 제어 이벤트용) */
+    void forceOffer(SseFrame frame) {
+        outboundSize.incrementAndGet();
+        outbound.offer(frame);
+    }
+
+    SseFrame poll() {
+        SseFrame frame = outbound.poll();
+        if (frame != null) outboundSize.decrementAndGet();
+        return frame;
+    }
+
+    boolean hasPending() {
+        return !outbound.isEmpty();
+    }
+
+    void clearPending() {
+        while (poll() != null) {
+            // 버림
+        }
+    }
+
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void finishDrain() {
+        draining.set(false);
+    }
+
+    /** 최초 호출에서만 true */
+    public boolean markClosed() {
+        return closed.compareAndSet(false, true);
+    }
+
+    public void onClose(Runnable handler) {
+        this.closeHandler = handler;
+    }
+
+    void fireClose() {
+        closeHandler.run();
+    }
+}
@@ -0,0 +1,92 @@
+package site.aiion.api.services.groupchat;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 방(ChatRoomType)별 SSE 구독자 목록.
+ * 브로드캐스트 시 해당 방 구독자만 순회하므로 비용이 전체 연결 수가 아니라 방 인원 수에 비례.
+ */
+@Component
+public class ChatSubscriberRegistry {
+
+    private final Map<ChatRoomType, ConcurrentHashMap<Long, ChatSubscriber>> rooms = new EnumMap<>(ChatRoomType.class);
+    /** 연결 ID 발급용 단조 증가 시퀀스 (같은 밀리초에 연결돼도 충돌 없음) */
+    private final AtomicLong connectionIds = new AtomicLong();
+    /** 방이 비었다가 구독자가 생기거나, 마지막 구독자가 나갔을 때 호출 */
+    private final List<Consumer<ChatRoomType>> occupancyListeners = new CopyOnWriteArrayList<>();
+    /** 사용자별 동시 연결 수 (입장 제어용) */
+    private final ConcurrentHashMap<Long, Integer> userConnections = new ConcurrentHashMap<>();
+
+    public ChatSubscriberRegistry() {
+        for (ChatRoomType room : ChatRoomType.values()) {
+            rooms.put(room, new ConcurrentHashMap<>());
+        }
+    }
+
+    public long nextConnectionId() {
+        return connectionIds.incrementAndGet();
+    }
+
+    public void addOccupancyListener(Consumer<ChatRoomType> listener) {
+        occupancyListeners.add(listener);
+    }
+
+    public void register(ChatSubscriber subscriber) {
+        ConcurrentHashMap<Long, ChatSubscriber> subs = rooms.get(subscriber.getRoom());
+        if (subs.put(subscriber.getId(), subscriber) == null && subscriber.getUserId() != null) {
+            userConnections.merge(subscriber.getUserId(), 1, Integer::sum);
+        }
+        if (subs.size() == 1) {
+            notifyOccupancy(subscriber.getRoom());
+        }
+    }
+
+    /** 같은 ID로 다른 구독자가 이미 등록된 경우 그 구독자는 건드리지 않음 */
+    public boolean unregister(ChatSubscriber subscriber) {
+        ConcurrentHashMap<Long, ChatSubscriber> subs = rooms.get(subscriber.getRoom());
+        boolean removed = subs.remove(subscriber.getId(), subscriber);
+        if (removed && subscriber.getUserId() != null) {
+            userConnections.computeIfPresent(subscriber.getUserId(), (userId, count) -> count > 1 ? count - 1 : null);
+        }
+        if (removed && subs.isEmpty()) {
+            notifyOccupancy(subscriber.getRoom());
+        }
+        return removed;
+    }
+
+    private void notifyOccupancy(ChatRoomType room) {
+        for (Consumer<ChatRoomType> listener : occupancyListeners) {
+            listener.accept(room);
+        }
+    }
+
+    public Collection<ChatSubscriber> subscribers(ChatRoomType room) {
+        return rooms.get(room).values();
+    }
+
+    public int size(ChatRoomType room) {
+        return rooms.get(room).size();
+    }
+
+    /** 해당 사용자의 현재 연결 수 */
+    public int size(Long userId) {
+        return userConnections.getOrDefault(userId, 0);
+    }
+
+    public int size() {
+        int total = 0;
+        for (ConcurrentHashMap<Long, ChatSubscriber> subs : rooms.values()) {
+            total += subs.size();
+        }
+        return total;
+    }
+}
@@ -8,7 +8,14 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "group_chats")
+@Table(name = "group_chats", indexes = {
+        // 방별 최신 메시지 (room_type = ? AND created_at > ? ORDER BY created_at DESC)
+        @Index(name = "idx_group_chats_room_created", columnList = "room_type, created_at"),
+        // 방별 lastId 이후 메시지 / 메모리 버퍼 예열 (room_type = ? AND id > ?, ORDER BY id)
+        @Index(name = "idx_group_chats_room_id", columnList = "room_type, id"),
+        // 보관 기간 정리 (created_at < ?)
+        @Index(name = "idx_group_chats_created", columnList = "created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,75 @@
+package site.aiion.api.services.groupchat;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 단체채팅 SSE 연결 현황 (actuator).
+ * GET /actuator/groupchat          : 방별 연결 수 및 누적 전송량
+ * GET /actuator/groupchat/{room}   : 해당 방 연결 목록 (전송 바이트 많은 순)
+ * 기본 설정에서는 웹에 노출되지 않음 (management.endpoints.web.exposure.include에 groupchat 추가 시 노출, 로그인 필요).
+ */
+@Component
+@Endpoint(id = "groupchat")
+@RequiredArgsConstructor
+public class GroupChatConnectionsEndpoint {
+
+    private final ChatSubscriberRegistry subscriberRegistry;
+
+    public record RoomStats(int connections, long bytesSent, long messagesSent) {}
+
+    public record ConnectionInfo(long id, Long userId, String room, Instant connectedAt,
+                                 long bytesSent, long messagesSent, int pending) {}
+
+    @ReadOperation
+    public Map<String, Object> summary() {
+        Map<String, RoomStats> rooms = new LinkedHashMap<>();
+        for (ChatRoomType room : ChatRoomType.values()) {
+            long bytes = 0, messages = 0;
+            int count = 0;
+            for (ChatSubscriber subscriber : subscriberRegistry.subscribers(room)) {
+                count++;
+                bytes += subscriber.getBytesSent();
+                messages += subscriber.getMessagesSent();
+            }
+            rooms.put(room.name(), new RoomStats(count, bytes, messages));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", subscriberRegistry.size());
+        result.put("rooms", rooms);
+        return result;
+    }
+
+    @ReadOperation
+    public List<ConnectionInfo> connections(@Selector String room) {
+        ChatRoomType roomType;
+        try {
+            roomType = ChatRoomType.valueOf(room.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        List<ConnectionInfo> list = new ArrayList<>();
+        for (ChatSubscriber subscriber : subscriberRegistry.subscribers(roomType)) {
+            list.add(new ConnectionInfo(
+                    subscriber.getId(),
+                    subscriber.getUserId(),
+                    roomType.name(),
+                    subscriber.getConnectedAt(),
+                    subscriber.getBytesSent(),
+                    subscriber.getMessagesSent(),
+                    subscriber.getPendingCount()));
+        }
+        list.sort(Comparator.comparingLong(ConnectionInfo::bytesSent).reversed());
+        return list;
+    }
+}
@@ -0,0 +1,214 @@
+package site.aiion.api.services.groupchat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 gateway 인스턴스 간 단체채팅 메시지 전파 (Redis pub/sub).
+ * 저장한 노드는 방별 채널(groupchat:room:{ROOM})에 발행만 하고, 구독 중인 모든 노드(자기 자신 포함)가
+ * 수신 시 로컬 SSE 구독자에게 전송. 노드는 로컬 구독자가 있는 방의 채널만 구독함.
+ * 같은 메시지가 두 번 들어와도(발행 실패 후 로컬 전송 등) 최근 메시지 ID로 걸러냄.
+ * 방 메모리 버퍼는 Redis가 채널 구독을 확인한 뒤에 DB에서 예열하므로, 예열과 구독 사이에 발행된 메시지도 빠지지 않음.
+ */
+@Slf4j
+@Component
+public class GroupChatFanout implements MessageListener, SubscriptionListener {
+
+    private static final String CHANNEL_PREFIX = "groupchat:room:";
+    private static final int SEEN_CAPACITY = 4096;
+    private static final long RETRY_DELAY_SECONDS = 5;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final ChatSubscriberRegistry subscriberRegistry;
+    private final GroupChatRecentBuffer recentBuffer;
+    private final GroupChatSSEController sseController;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private final Map<ChatRoomType, ChannelTopic> topics = new EnumMap<>(ChatRoomType.class);
+    /** 구독에 성공한 방. 구독 작업 스레드(subscriptionExecutor)에서만 변경 */
+    private final Map<ChatRoomType, Boolean> subscribed = new EnumMap<>(ChatRoomType.class);
+    /**
+     * 채널 구독/해제 전용 스레드. addMessageListener는 Redis 구독 확인을 최대 수 초 기다리므로
+     * SSE 입장 경로(레지스트리 등록)에서 직접 호출하지 않고 순서대로 여기서 처리
+     */
+    private ScheduledExecutorService subscriptionExecutor;
+    /** 최근 전달한 메시지 ID (중복 전달 방지, 오래된 것부터 밀려남) */
+    private final Map<Long, Boolean> seenIds = new LinkedHashMap<>(256, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > SEEN_CAPACITY;
+        }
+    };
+    private RedisMessageListenerContainer container;
+
+    public GroupChatFanout(
+            StringRedisTemplate redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            ChatSubscriberRegistry subscriberRegistry,
+            GroupChatRecentBuffer recentBuffer,
+            GroupChatSSEController sseController,
+            ObjectMapper objectMapper,
+            @Value("${groupchat.fanout.enabled:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.subscriberRegistry = subscriberRegistry;
+        this.recentBuffer = recentBuffer;
+        this.sseController = sseController;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        for (ChatRoomType room : ChatRoomType.values()) {
+            topics.put(room, new ChannelTopic(CHANNEL_PREFIX + room.name()));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("단체채팅 Redis 전파 비활성화 (단일 노드 모드)");
+            return;
+        }
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        subscriptionExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("groupchat-fanout-subscription").daemon().factory());
+        subscriberRegistry.addOccupancyListener(room -> subscriptionExecutor.execute(() -> syncSubscription(room)));
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (subscriptionExecutor != null) {
+            subscriptionExecutor.shutdownNow();
+        }
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 저장된 메시지 전파. Redis 발행에 실패하면 이 노드 구독자에게만 직접 전송 (다른 노드에는 누락).
+     */
+    public void publish(GroupChatModel message) {
+        if (message == null || message.getId() == null) return;
+        if (enabled) {
+            try {
+                String payload = objectMapper.writeValueAsString(message);
+                redisTemplate.convertAndSend(topics.get(roomOf(message)).getTopic(), payload);
+                return;
+            } catch (Exception e) {
+                log.warn("단체채팅 Redis 발행 실패 (로컬만 전송): messageId={}", message.getId(), e);
+            }
+        }
+        deliver(message);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            GroupChatModel model = objectMapper.readValue(message.getBody(), GroupChatModel.class);
+            deliver(model);
+        } catch (Exception e) {
+            log.warn("단체채팅 Redis 수신 메시지 처리 실패: channel={}", new String(message.getChannel()), e);
+        }
+    }
+
+    /** 처음 보는 메시지만 메모리 버퍼에 넣고 로컬 SSE 구독자에게 전송 */
+    private void deliver(GroupChatModel message) {
+        if (message == null || message.getId() == null) return;
+        synchronized (seenIds) {
+            if (seenIds.putIfAbsent(message.getId(), Boolean.TRUE) != null) return;
+        }
+        recentBuffer.append(message);
+        sseController.broadcastMessage(message);
+    }
+
+    /**
+     * Redis가 채널 구독을 확인함: 이 시점 이후 발행분은 onMessage로 들어오므로, 지금 DB에서 예열하면 빠지는 메시지가 없음.
+     * 예열 후 구독 확인 전에 연결된 SSE 구독자에게 그 사이 메시지를 보충 전송.
+     * 재연결로 다시 구독된 경우에도 호출되어, 끊긴 동안 놓친 메시지를 DB에서 다시 채움.
+     * DB 조회는 Redis 이벤트 스레드를 막지 않도록 별도 가상 스레드에서.
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        String name = new String(channel, StandardCharsets.UTF_8);
+        if (!name.startsWith(CHANNEL_PREFIX)) return;
+        ChatRoomType room;
+        try {
+            room = ChatRoomType.valueOf(name.substring(CHANNEL_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        // 구독 호출이 끝나기 전에 확인이 올 수 있으므로 subscribed 대신 로컬 구독자 유무로 판단
+        if (subscriberRegistry.size(room) == 0) return;
+        Thread.ofVirtual().name("groupchat-buffer-warmup").start(() -> {
+            recentBuffer.activate(room);
+            sseController.catchUp(room);
+        });
+        log.info("단체채팅 Redis 채널 구독 확인, 메모리 버퍼 예열: roomType={}", room);
+    }
+
+    /**
+     * 방의 로컬 구독자 유무에 맞춰 채널 구독/해제 (subscriptionExecutor 스레드에서만 호출).
+     * 등록·해제가 겹쳐도 현재 상태로 다시 맞추므로 멱등.
+     * 구독하지 않는 동안의 다른 노드 메시지는 메모리 버퍼에 없으므로, 해제 시 버퍼 사용을 중지(DB 폴백)하고
+     * 새로 구독할 때는 구독 확인(onChannelSubscribed)을 받은 뒤 예열.
+     * 구독에 실패하면 subscribed를 바꾸지 않고 잠시 뒤 다시 맞춤 (그동안 버퍼는 사용 중지 상태라 DB에서 읽음).
+     */
+    private void syncSubscription(ChatRoomType room) {
+        boolean wanted = subscriberRegistry.size(room) > 0;
+        boolean current = Boolean.TRUE.equals(subscribed.get(room));
+        if (wanted == current) return;
+        try {
+            if (wanted) {
+                // 구독 확인 전에 예열 결과를 쓰지 않도록 먼저 사용 중지 상태로
+                recentBuffer.deactivate(room);
+                container.addMessageListener(this, topics.get(room));
+                log.info("단체채팅 Redis 채널 구독: roomType={}", room);
+            } else {
+                container.removeMessageListener(this, topics.get(room));
+                recentBuffer.deactivate(room);
+                log.info("단체채팅 Redis 채널 구독 해제: roomType={}", room);
+            }
+            subscribed.put(room, wanted);
+        } catch (Exception e) {
+            log.warn("단체채팅 Redis 채널 구독 변경 실패 (재시도 예정): roomType={}, subscribe={}", room, wanted, e);
+            if (wanted) {
+                try {
+                    container.removeMessageListener(this, topics.get(room));
+                } catch (Exception ignored) {}
+            }
+            subscriptionExecutor.schedule(() -> syncSubscription(room), RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private static ChatRoomType roomOf(GroupChatModel message) {
+        if (message.getRoomType() != null) {
+            try {
+                return ChatRoomType.valueOf(message.getRoomType().toUpperCase());
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return ChatRoomType.SILVER;
+    }
+}
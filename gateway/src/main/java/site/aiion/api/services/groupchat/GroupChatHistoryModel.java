@@ -0,0 +1,19 @@
+package site.aiion.api.services.groupchat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** 방별 이전 메시지 한 구간 (최신순). nextCursor를 다음 요청의 before로 넘기면 이어서 조회 */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupChatHistoryModel {
+    private List<GroupChatModel> messages;
+    private String nextCursor;  // 더 없으면 null
+    private boolean hasNext;
+}
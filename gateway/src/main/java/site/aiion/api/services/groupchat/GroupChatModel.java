@@ -18,5 +18,12 @@ public class GroupChatModel {
     private String message;
     private Boolean lookingForBuddy;  // true면 "여행 같이 갈 사람" → 귓속말 가능
     private LocalDateTime createdAt;
+
+    /** JPQL 생성자 프로젝션용 (엔티티를 거치지 않고 바로 모델로 조회) */
+    public GroupChatModel(Long id, ChatRoomType roomType, Long userId, String username, String message,
+                          Boolean lookingForBuddy, LocalDateTime createdAt) {
+        this(id, roomType != null ? roomType.name() : "SILVER", userId, username, message,
+                Boolean.TRUE.equals(lookingForBuddy), createdAt);
+    }
 }
 
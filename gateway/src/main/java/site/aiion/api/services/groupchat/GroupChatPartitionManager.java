@@ -0,0 +1,189 @@
+package site.aiion.api.services.groupchat;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * group_chats 일 단위 파티션 관리 (groupchat.partitioning.enabled=true일 때만).
+ * created_at(KST) 기준 RANGE 파티션 group_chats_pYYYYMMDD를 미리 만들어 두고,
+ * 보관 기간이 지난 날짜 파티션은 행 단위 DELETE 대신 DETACH 후 DROP (vacuum 부담 없음).
+ * 기존 일반 테이블이면 기동 시 한 번 파티션 테이블로 전환 (보관 기간 내 행만 옮김, 여러 노드가 동시에 기동해도
+ * advisory lock으로 한 노드만 전환).
+ * 날짜 파티션이 없던 동안 DEFAULT 파티션에 들어간 행은 그 날짜 파티션을 만들 때 옮기고,
+ * 한 날짜의 파티션 생성이 실패해도 다른 날짜와 만료 파티션 정리는 계속함.
+ */
+@Slf4j
+@Component
+public class GroupChatPartitionManager {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final String TABLE = "group_chats";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String SEQUENCE = TABLE + "_id_seq_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    /** 파티션 전환용 pg_advisory_xact_lock 키 (트랜잭션 종료 시 자동 해제) */
+    private static final long CONVERSION_LOCK_KEY = 0x67726f7570636874L;
+    /** GroupChat 엔티티 @Index와 같은 이름/컬럼 (파티션 부모에 만들면 모든 파티션에 적용됨) */
+    private static final List<String> INDEX_DDL = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_group_chats_room_created ON " + TABLE + " (room_type, created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_group_chats_room_id ON " + TABLE + " (room_type, id)",
+            "CREATE INDEX IF NOT EXISTS idx_group_chats_created ON " + TABLE + " (created_at)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int premakeDays;
+
+    /** EntityManagerFactory를 주입받아 Hibernate 스키마 갱신(ddl-auto) 이후에 초기화되도록 함 */
+    public GroupChatPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${groupchat.partitioning.enabled:false}") boolean enabled,
+            @Value("${groupchat.partitioning.premake-days:3}") int premakeDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.premakeDays = Math.max(1, premakeDays);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (isPartitioned()) return;
+            // 다른 노드가 전환 중이면 끝날 때까지 기다린 뒤 다시 확인
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + CONVERSION_LOCK_KEY + ")");
+            if (!isPartitioned()) {
+                convertToPartitioned();
+            }
+        });
+        ensureFuturePartitions();
+    }
+
+    /**
+     * 보관 기간 정리 + 미래 파티션 생성. 삭제된 파티션 수 반환.
+     * 파티션 생성 실패는 날짜별로 로그만 남기므로 만료 파티션 정리를 막지 않음.
+     */
+    public int maintain(LocalDateTime cutoff) {
+        ensureFuturePartitions();
+        return dropExpired(cutoff);
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    /**
+     * 일반 테이블 → 파티션 테이블 전환 (한 트랜잭션).
+     * 파티션 테이블의 PK는 파티션 키를 포함해야 하므로 (id, created_at). id는 별도 시퀀스 기본값으로 계속 자동 채번.
+     */
+    private void convertToPartitioned() {
+        LocalDate today = LocalDate.now(ZONE);
+        LocalDate firstDay = today.minusDays(1);
+        String legacy = TABLE + "_legacy";
+        log.info("group_chats 파티션 테이블 전환 시작");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE);
+        jdbcTemplate.execute("SELECT setval('" + SEQUENCE + "', COALESCE((SELECT max(id) FROM " + TABLE + "), 0) + 1, false)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + legacy);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + legacy + " INCLUDING CONSTRAINTS, "
+                + "PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id SET DEFAULT nextval('" + SEQUENCE + "')");
+        jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " OWNED BY " + TABLE + ".id");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+        for (LocalDate day = firstDay; !day.isAfter(today.plusDays(premakeDays)); day = day.plusDays(1)) {
+            createPartition(day);
+        }
+        int moved = jdbcTemplate.update("INSERT INTO " + TABLE + " (id, room_type, user_id, username, message, looking_for_buddy, created_at) "
+                + "SELECT id, room_type, user_id, username, message, looking_for_buddy, created_at FROM " + legacy
+                + " WHERE created_at >= ?", firstDay.atStartOfDay());
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+        // 인덱스 이름이 기존 테이블과 겹치므로 기존 테이블 삭제 후 생성
+        INDEX_DDL.forEach(jdbcTemplate::execute);
+        log.info("group_chats 파티션 테이블 전환 완료: 이전 행 {}건", moved);
+    }
+
+    /** 오늘부터 premake-days일 뒤까지 파티션이 없으면 생성 (날짜별로 실패해도 나머지는 계속) */
+    private void ensureFuturePartitions() {
+        LocalDate today = LocalDate.now(ZONE);
+        for (int i = 0; i <= premakeDays; i++) {
+            LocalDate day = today.plusDays(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> createPartition(day));
+            } catch (Exception e) {
+                log.warn("단체채팅 파티션 생성 실패 (다음 정리 때 재시도): day={}", day, e);
+            }
+        }
+    }
+
+    /**
+     * 날짜 파티션 생성. DEFAULT 파티션에 그 날짜 행이 있으면 PARTITION OF가 실패하므로
+     * 빈 테이블을 만들어 행을 옮긴 뒤 ATTACH (트랜잭션 안에서 호출).
+     */
+    private void createPartition(LocalDate day) {
+        String partition = PARTITION_PREFIX + day.format(SUFFIX);
+        String from = "'" + day.atStartOfDay() + "'";
+        String to = "'" + day.plusDays(1).atStartOfDay() + "'";
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) return;
+        Boolean defaultHasRows = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION
+                + " WHERE created_at >= " + from + " AND created_at < " + to + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(defaultHasRows)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE created_at >= " + from + " AND created_at < " + to + " RETURNING *) "
+                + "INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        log.info("단체채팅 파티션 생성: {} (DEFAULT 파티션에서 {}건 이동)", partition, moved);
+    }
+
+    /** 구간 전체가 cutoff 이전인 날짜 파티션을 DETACH 후 DROP. DEFAULT 파티션에 남은 만료 행은 DELETE */
+    private int dropExpired(LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass(?)", String.class, TABLE);
+        int dropped = 0;
+        for (String partition : partitions) {
+            if (!partition.startsWith(PARTITION_PREFIX)) continue;
+            LocalDate day;
+            try {
+                day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+            if (day.plusDays(1).atStartOfDay().isAfter(cutoff)) continue;
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            });
+            dropped++;
+            log.info("단체채팅 만료 파티션 삭제: {}", partition);
+        }
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE created_at < ?", cutoff);
+        return dropped;
+    }
+}
@@ -0,0 +1,257 @@
+package site.aiion.api.services.groupchat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 방별 최근 메시지 N개를 메모리에 보관하는 버퍼.
+ * save 시 채워지고 DB에서 예열됨. SSE 재연결(lastId 이후 메시지)은 가능한 한 여기서 응답하고,
+ * 클라이언트가 버퍼 범위보다 뒤처졌을 때만 DB로 폴백.
+ * 여러 노드 모드(groupchat.fanout.enabled)에서는 이 노드가 방 채널을 구독 중일 때만 다른 노드 메시지가 들어오므로,
+ * 구독 전·해제 후에는 버퍼를 쓰지 않고(STALE) 모든 조회를 DB로 보냄. 구독이 확인되면 activate로 다시 예열.
+ */
+@Slf4j
+@Component
+public class GroupChatRecentBuffer {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final int RETENTION_HOURS = 24;
+
+    private final GroupChatRepository groupChatRepository;
+    private final int capacity;
+    private final Map<ChatRoomType, RoomBuffer> rooms = new EnumMap<>(ChatRoomType.class);
+
+    private enum State {
+        /** 버퍼 사용 안 함 (추가도 무시, 조회는 모두 DB) */
+        STALE,
+        /** 예열 중. 새 메시지는 받아 두지만 조회는 아직 DB */
+        LOADING,
+        /** 버퍼로 응답 가능 */
+        LIVE
+    }
+
+    /** 방 하나의 버퍼. id 순으로 정렬 (동시 저장으로 순서가 뒤바뀌어 들어와도 정렬 유지) */
+    private static final class RoomBuffer {
+        final TreeMap<Long, GroupChatModel> messages = new TreeMap<>();
+        /** true면 버퍼보다 오래된 (보관 기간 내) 메시지가 DB에 더 있을 수 있음. 예열 전에는 true */
+        boolean truncated = true;
+        State state = State.STALE;
+        /** activate/deactivate마다 증가. 예열 도중 상태가 바뀌었으면 그 예열 결과는 버림 */
+        long generation;
+    }
+
+    /** true면 방 채널 구독(activate)을 기다림, false(단일 노드)면 기동 시 모든 방을 예열 */
+    private final boolean requiresSubscription;
+
+    public GroupChatRecentBuffer(
+            GroupChatRepository groupChatRepository,
+            @Value("${groupchat.recent-buffer.capacity:500}") int capacity,
+            @Value("${groupchat.fanout.enabled:true}") boolean fanoutEnabled) {
+        this.groupChatRepository = groupChatRepository;
+        this.capacity = Math.max(1, capacity);
+        this.requiresSubscription = fanoutEnabled;
+        for (ChatRoomType room : ChatRoomType.values()) {
+            rooms.put(room, new RoomBuffer());
+        }
+    }
+
+    private static LocalDateTime cutoffNow() {
+        return LocalDateTime.now(ZONE).minusHours(RETENTION_HOURS);
+    }
+
+    /** 단일 노드 모드: 기동 시 모든 방 예열 (여러 노드 모드는 방 채널 구독이 확인될 때 activate) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (requiresSubscription) return;
+        for (ChatRoomType room : ChatRoomType.values()) {
+            activate(room);
+        }
+    }
+
+    /**
+     * 방 버퍼를 DB 최신 메시지로 다시 채우고 사용 시작. 예열 중 들어온 메시지도 함께 보관.
+     * DB 조회는 잠금 밖에서 하며, 실패하면 해당 방은 STALE로 남아 계속 DB 폴백.
+     */
+    public void activate(ChatRoomType room) {
+        RoomBuffer buffer = rooms.get(room);
+        long generation;
+        synchronized (buffer) {
+            buffer.messages.clear();
+            buffer.truncated = true;
+            buffer.state = State.LOADING;
+            generation = ++buffer.generation;
+        }
+        try {
+            List<GroupChat> latest = groupChatRepository.findByRoomTypeAndCreatedAtAfterOrderByIdDesc(
+                    room, cutoffNow(), PageRequest.of(0, capacity));
+            synchronized (buffer) {
+                if (buffer.generation != generation) return;
+                for (GroupChat entity : latest) {
+                    buffer.messages.putIfAbsent(entity.getId(), entityToModel(entity));
+                }
+                buffer.truncated = latest.size() >= capacity;
+                trim(buffer);
+                buffer.state = State.LIVE;
+            }
+            log.info("단체채팅 메모리 버퍼 예열: roomType={}, count={}", room, latest.size());
+        } catch (Exception e) {
+            synchronized (buffer) {
+                if (buffer.generation == generation) {
+                    buffer.state = State.STALE;
+                    buffer.messages.clear();
+                }
+            }
+            log.warn("단체채팅 메모리 버퍼 예열 실패 (DB 폴백): roomType={}", room, e);
+        }
+    }
+
+    /** 방 버퍼 사용 중지 (채널 구독 해제 등으로 다른 노드 메시지를 더 받지 못할 때). 이후 조회는 DB */
+    public void deactivate(ChatRoomType room) {
+        RoomBuffer buffer = rooms.get(room);
+        synchronized (buffer) {
+            buffer.messages.clear();
+            buffer.truncated = true;
+            buffer.state = State.STALE;
+            buffer.generation++;
+        }
+    }
+
+    /** 저장된 메시지 추가 (사용 중지된 방은 무시) */
+    public void append(GroupChatModel message) {
+        if (message == null || message.getId() == null) return;
+        RoomBuffer buffer = rooms.get(roomOf(message));
+        synchronized (buffer) {
+            if (buffer.state == State.STALE) return;
+            buffer.messages.put(message.getId(), message);
+            trim(buffer);
+        }
+    }
+
+    /**
+     * lastId 이후 메시지 (id 오름차순, 보관 기간 내).
+     * 버퍼가 lastId 이후를 빠짐없이 갖고 있을 때만 값이 있고, 아니면 empty (DB 조회 필요).
+     */
+    public Optional<List<GroupChatModel>> messagesAfter(ChatRoomType room, long lastId) {
+        RoomBuffer buffer = rooms.get(room);
+        LocalDateTime cutoff = cutoffNow();
+        synchronized (buffer) {
+            if (buffer.state != State.LIVE) {
+                return Optional.empty();
+            }
+            if (buffer.truncated && (buffer.messages.isEmpty() || lastId < buffer.messages.firstKey())) {
+                return Optional.empty();
+            }
+            List<GroupChatModel> result = new ArrayList<>();
+            for (GroupChatModel message : buffer.messages.tailMap(lastId, false).values()) {
+                if (message.getCreatedAt() == null || message.getCreatedAt().isAfter(cutoff)) {
+                    result.add(message);
+                }
+            }
+            return Optional.of(result);
+        }
+    }
+
+    /**
+     * 방의 최신 메시지 limit개 (최신순, 보관 기간 내).
+     * 버퍼에 limit개 이상 있거나 버퍼가 빠짐없는 상태일 때만 값이 있고, 아니면 empty (DB 조회 필요).
+     */
+    public Optional<List<GroupChatModel>> latest(ChatRoomType room, int limit) {
+        RoomBuffer buffer = rooms.get(room);
+        LocalDateTime cutoff = cutoffNow();
+        synchronized (buffer) {
+            if (buffer.state != State.LIVE) {
+                return Optional.empty();
+            }
+            List<GroupChatModel> result = new ArrayList<>(Math.min(limit, buffer.messages.size()));
+            for (GroupChatModel message : buffer.messages.descendingMap().values()) {
+                if (result.size() >= limit) break;
+                if (message.getCreatedAt() != null && !message.getCreatedAt().isAfter(cutoff)) break;
+                result.add(message);
+            }
+            // 버퍼 안에서 보관 기간 경계에 닿았거나 limit을 채웠으면 DB도 같은 결과
+            boolean reachedCutoff = result.size() < buffer.messages.size() && result.size() < limit;
+            if (result.size() < limit && buffer.truncated && !reachedCutoff) {
+                return Optional.empty();
+            }
+            return Optional.of(result);
+        }
+    }
+
+    /**
+     * 해당 메시지가 보관 기간 내에 남아 있는지 (이후 메시지를 빠짐없이 보낼 수 있는지).
+     * 메시지 ID는 방과 무관하게 전역이므로 이 방 버퍼에 없는 ID라도 버퍼의 첫 ID 이상이면 남아 있는 것으로 봄.
+     * 버퍼만으로 판단할 수 없으면 null (DB 확인 필요).
+     */
+    public Boolean retains(ChatRoomType room, long messageId) {
+        RoomBuffer buffer = rooms.get(room);
+        LocalDateTime cutoff = cutoffNow();
+        synchronized (buffer) {
+            if (buffer.state != State.LIVE) {
+                return null;
+            }
+            GroupChatModel message = buffer.messages.get(messageId);
+            if (message != null) {
+                return message.getCreatedAt() == null || message.getCreatedAt().isAfter(cutoff);
+            }
+            if (!buffer.messages.isEmpty() && messageId >= buffer.messages.firstKey()) {
+                return true;
+            }
+            return null;
+        }
+    }
+
+    /** 전체 삭제 후 호출: 사용 중인 방 버퍼도 비우고 DB와 동일하게 "빠짐없는" 상태로 둠 (진행 중인 예열 결과는 버림) */
+    public void clear() {
+        for (RoomBuffer buffer : rooms.values()) {
+            synchronized (buffer) {
+                if (buffer.state == State.STALE) continue;
+                buffer.messages.clear();
+                buffer.truncated = false;
+                buffer.state = State.LIVE;
+                buffer.generation++;
+            }
+        }
+    }
+
+    /** 용량 초과분 제거. 밀려난 메시지가 있으면 truncated */
+    private void trim(RoomBuffer buffer) {
+        while (buffer.messages.size() > capacity) {
+            buffer.messages.pollFirstEntry();
+            buffer.truncated = true;
+        }
+    }
+
+    private static ChatRoomType roomOf(GroupChatModel message) {
+        if (message.getRoomType() != null) {
+            try {
+                return ChatRoomType.valueOf(message.getRoomType().toUpperCase());
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return ChatRoomType.SILVER;
+    }
+
+    private GroupChatModel entityToModel(GroupChat entity) {
+        return GroupChatModel.builder()
+                .id(entity.getId())
+                .roomType(entity.getRoomType() != null ? entity.getRoomType().name() : "SILVER")
+                .userId(entity.getUserId())
+                .username(entity.getUsername())
+                .message(entity.getMessage())
+                .lookingForBuddy(Boolean.TRUE.equals(entity.getLookingForBuddy()))
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package site.aiion.api.services.groupchat;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,22 +13,43 @@ import java.util.List;
 @Repository
 public interface GroupChatRepository extends JpaRepository<GroupChat, Long> {
 
-    Page<GroupChat> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    /** 전체 메시지 최신순 (count 쿼리 없는 Slice, 엔티티 대신 모델로 바로 조회) */
+    @Query("SELECT new site.aiion.api.services.groupchat.GroupChatModel("
+            + "g.id, g.roomType, g.userId, g.username, g.message, g.lookingForBuddy, g.createdAt) "
+            + "FROM GroupChat g ORDER BY g.createdAt DESC")
+    Slice<GroupChatModel> findAllModels(Pageable pageable);
+
+    /** 방별 before(id) 이전 메시지, id 내림차순 (keyset 페이지네이션, 24시간 이내만, count 쿼리 없음) */
+    Slice<GroupChat> findByRoomTypeAndIdLessThanAndCreatedAtAfterOrderByIdDesc(
+            ChatRoomType roomType, Long before, LocalDateTime after, Pageable pageable);
 
     List<GroupChat> findByIdGreaterThanOrderByCreatedAtAsc(Long id);
 
     List<GroupChat> findTop50ByOrderByCreatedAtDesc();
 
-    /** 방별 최신 메시지 N개 (24시간 이내만) */
-    List<GroupChat> findTop50ByRoomTypeAndCreatedAtAfterOrderByCreatedAtDesc(ChatRoomType roomType, LocalDateTime after);
+    /** 방별 최신 메시지 limit개 (24시간 이내), 엔티티 대신 모델로 바로 조회 */
+    @Query("SELECT new site.aiion.api.services.groupchat.GroupChatModel("
+            + "g.id, g.roomType, g.userId, g.username, g.message, g.lookingForBuddy, g.createdAt) "
+            + "FROM GroupChat g WHERE g.roomType = :roomType AND g.createdAt > :after ORDER BY g.createdAt DESC")
+    List<GroupChatModel> findRecentModels(@Param("roomType") ChatRoomType roomType,
+                                          @Param("after") LocalDateTime after, Pageable pageable);
 
     /** 방별 lastId 초과 메시지 (SSE 푸시용, 24시간 이내만) */
     List<GroupChat> findByIdGreaterThanAndRoomTypeAndCreatedAtAfterOrderByCreatedAtAsc(Long id, ChatRoomType roomType, LocalDateTime after);
 
-    /** 24시간 지난 메시지 개수 (삭제 전 로깅용) */
+    /** 해당 메시지가 아직 보관 기간 내에 있는지 (SSE 재연결 gap 판정용) */
+    boolean existsByIdAndCreatedAtAfter(Long id, LocalDateTime after);
+
+    /** 방별 최신 메시지 (24시간 이내, id 내림차순) - 메모리 버퍼 예열용 */
+    List<GroupChat> findByRoomTypeAndCreatedAtAfterOrderByIdDesc(ChatRoomType roomType, LocalDateTime after, Pageable pageable);
+
+    /** 24시간 지난 메시지 개수 (정리 작업이 시간 예산을 넘겼을 때 남은 건수 집계용) */
     long countByCreatedAtBefore(LocalDateTime before);
 
-    /** 24시간 지난 메시지 일괄 삭제 */
-    void deleteByCreatedAtBefore(LocalDateTime before);
+    /** 24시간 지난 메시지를 최대 limit건 삭제 (엔티티를 읽지 않는 bulk DELETE). 삭제 건수 반환 */
+    @Modifying
+    @Query(value = "DELETE FROM group_chats WHERE id IN "
+            + "(SELECT id FROM group_chats WHERE created_at < :before LIMIT :limit)", nativeQuery = true)
+    int deleteChunkCreatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
 
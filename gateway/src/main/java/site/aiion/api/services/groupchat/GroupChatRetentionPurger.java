@@ -0,0 +1,88 @@
+package site.aiion.api.services.groupchat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 보관 기간이 지난 단체채팅 메시지를 chunk-size건씩 나눠 삭제 (파티션 모드가 아닐 때의 보관 정책).
+ * 엔티티를 읽어오지 않는 bulk DELETE를 chunk마다 짧은 트랜잭션으로 실행하고, chunk 사이에 쉬어
+ * 잠금과 WAL 부담을 분산. 한 번 실행에 time-budget-ms를 넘기면 멈추고 나머지는 다음 실행에서 처리.
+ */
+@Slf4j
+@Component
+public class GroupChatRetentionPurger {
+
+    private final GroupChatRepository groupChatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long timeBudgetMillis;
+    private final long pauseMillis;
+    private final Counter deletedCounter;
+    /** 직전 실행의 초당 삭제 행 수 */
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+    /** 직전 실행 후 남은 만료 행 수 (시간 예산 초과로 멈췄을 때만 집계, 아니면 0) */
+    private final AtomicLong backlog = new AtomicLong();
+
+    public GroupChatRetentionPurger(
+            GroupChatRepository groupChatRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${groupchat.retention.chunk-size:5000}") int chunkSize,
+            @Value("${groupchat.retention.time-budget-ms:60000}") long timeBudgetMillis,
+            @Value("${groupchat.retention.pause-ms:50}") long pauseMillis) {
+        this.groupChatRepository = groupChatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.timeBudgetMillis = Math.max(1L, timeBudgetMillis);
+        this.pauseMillis = Math.max(0L, pauseMillis);
+        this.deletedCounter = Counter.builder("groupchat.retention.deleted")
+                .description("보관 기간 경과로 삭제된 메시지 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("groupchat.retention.rows-per-second", lastRowsPerSecond);
+        meterRegistry.gauge("groupchat.retention.backlog", backlog);
+    }
+
+    /** cutoff 이전 메시지 삭제. 이번 실행에서 삭제한 행 수 반환 */
+    public int purge(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        int total = 0;
+        boolean exhausted = false;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    groupChatRepository.deleteChunkCreatedBefore(cutoff, chunkSize));
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            deletedCounter.increment(count);
+            if (count < chunkSize) {
+                exhausted = true;
+                break;
+            }
+            if (System.nanoTime() >= deadline) break;
+            if (pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        long elapsedMillis = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        lastRowsPerSecond.set(total * 1000L / elapsedMillis);
+        backlog.set(exhausted ? 0 : groupChatRepository.countByCreatedAtBefore(cutoff));
+        if (!exhausted) {
+            log.warn("단체채팅 보관 기간 정리: 시간 예산 초과로 중단, 남은 만료 메시지 {} 건", backlog.get());
+        }
+        return total;
+    }
+}
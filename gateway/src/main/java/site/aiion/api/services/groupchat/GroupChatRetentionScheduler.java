@@ -5,20 +5,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 /**
  * 단체채팅 메시지 24시간 보관 정책: 생성 후 24시간이 지난 메시지를 주기적으로 삭제.
+ * 파티션 모드면 만료된 날짜 파티션을 통째로 삭제하고 미래 파티션을 미리 만듦.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GroupChatRetentionScheduler {
 
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final int RETENTION_HOURS = 24;
+
     private final GroupChatService groupChatService;
+    private final GroupChatPartitionManager partitionManager;
 
     /** 매 시 정각(0분)에 실행 (1시간마다) */
     @Scheduled(cron = "0 0 * * * *")
     public void deleteExpiredMessages() {
         try {
+            if (partitionManager.isEnabled()) {
+                int dropped = partitionManager.maintain(LocalDateTime.now(ZONE).minusHours(RETENTION_HOURS));
+                if (dropped > 0) {
+                    log.info("단체채팅 만료 파티션 삭제 완료: {} 개", dropped);
+                }
+                return;
+            }
             int deleted = groupChatService.deleteMessagesOlderThanRetention();
             if (deleted > 0) {
                 log.info("단체채팅 24시간 경과 메시지 삭제 완료: {} 건", deleted);
@@ -3,9 +3,13 @@ package site.aiion.api.services.groupchat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -14,18 +18,14 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
-import site.aiion.api.services.oauth.util.JwtTokenProvider;
-import site.aiion.api.services.user.UserRepository;
-import site.aiion.api.services.user.User;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
+import site.aiion.api.services.user.UserHonorCache;
 
 @Slf4j
 @RestController
@@ -36,48 +36,33 @@ import site.aiion.api.services.user.User;
 public class GroupChatSSEController {
 
     private final GroupChatRepository groupChatRepository;
-    private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
-    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(10);
-    private final ConcurrentHashMap<String, SseEmitter> emitters = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, AtomicLong> lastMessageIds = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, String> emitterRoomTypes = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
+    private final UserHonorCache userHonorCache;
+    private final ChatSubscriberRegistry subscriberRegistry;
+    private final ChatDispatcher chatDispatcher;
+    private final SseHeartbeatWheel heartbeatWheel;
+    private final GroupChatRecentBuffer recentBuffer;
+    private final SseAdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "실시간 메시지 스트림 (SSE, 방별)", description = "JWT 필요(token 쿼리 파라미터). 지정 등급 방의 새 메시지를 실시간으로 받습니다. 명예도 부족 시 403.")
+    @Operation(summary = "실시간 메시지 스트림 (SSE, 방별)", description = "JWT 필요(token 쿼리 파라미터). 지정 등급 방의 새 메시지를 실시간으로 받습니다. 명예도 부족 시 403, 연결 수 상한 초과 시 503(Retry-After). "
+            + "재연결 시 Last-Event-ID 헤더(또는 lastId) 이후 메시지만 전송하며, 해당 ID가 보관 기간(24시간)을 지났으면 gap 이벤트를 먼저 보냅니다.")
     public SseEmitter streamMessages(
             @RequestParam(value = "roomType", defaultValue = "SILVER") String roomType,
             @RequestParam(value = "lastId", defaultValue = "0") Long lastId,
-            @RequestParam(value = "token", required = false) String tokenParam,
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
             HttpServletResponse response) {
-        String token = tokenParam;
-        if (token == null || token.isBlank()) {
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-            }
-        }
-        if (token == null || token.isBlank() || !jwtTokenProvider.validateToken(token)) {
+        // 토큰(token 쿼리 파라미터 또는 Authorization 헤더)은 JwtAuthenticationFilter에서 검증됨
+        Long userId = principal != null ? principal.numericUserId() : null;
+        if (userId == null) {
             try {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("{\"code\":401,\"message\":\"인증이 필요합니다.\"}");
             } catch (Exception ignored) {}
             return null;
         }
-        Long userId;
-        try {
-            userId = Long.parseLong(jwtTokenProvider.getUserIdFromToken(token));
-        } catch (NumberFormatException e) {
-            try {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("{\"code\":401,\"message\":\"유효하지 않은 토큰입니다.\"}");
-            } catch (Exception ignored) {}
-            return null;
-        }
-        int userHonor = userRepository.findById(userId)
-                .map(u -> u.getHonor() != null ? u.getHonor() : 0)
-                .orElse(0);
+        int userHonor = userHonorCache.honorOf(userId);
         String rt = (roomType != null && !roomType.isBlank()) ? roomType.toUpperCase() : "SILVER";
         ChatRoomType room;
         try {
@@ -92,7 +77,7 @@ public class GroupChatSSEController {
             } catch (Exception ignored) {}
             return null;
         }
-        final String roomTypeNorm = room.name();
+        final ChatRoomType roomTypeNorm = room;
 
         String allowOrigin = System.getenv("FRONTEND_URL");
         if (allowOrigin == null || allowOrigin.isEmpty()) {
@@ -106,23 +91,33 @@ public class GroupChatSSEController {
         response.setHeader("Connection", "keep-alive");
         response.setHeader("X-Accel-Buffering", "no");
 
+        // EventSource 자동 재연결 시 브라우저가 보내는 Last-Event-ID 헤더 우선 (lastId 파라미터와 중 큰 값)
+        lastId = resolveResumeId(lastId, lastEventId);
+
         log.info("========== SSE 연결 요청 ========== roomType={}, lastId={}", roomTypeNorm, lastId);
 
         SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
-        String emitterId = String.valueOf(System.currentTimeMillis());
-        emitters.put(emitterId, emitter);
-        lastMessageIds.put(emitterId, new AtomicLong(lastId));
-        emitterRoomTypes.put(emitterId, roomTypeNorm);
+        long emitterId = subscriberRegistry.nextConnectionId();
+        ChatSubscriber subscriber = new ChatSubscriber(emitterId, userId, emitter, roomTypeNorm, lastId);
+        String rejection = admissionControl.tryAdmit(subscriber);
+        if (rejection != null) {
+            int retryAfter = admissionControl.retryAfterSeconds();
+            log.warn("SSE 입장 거절: userId={}, roomType={}, reason={}, retryAfter={}s", userId, roomTypeNorm, rejection, retryAfter);
+            try {
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader("Retry-After", String.valueOf(retryAfter));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding("UTF-8");
+                response.getWriter().write("{\"code\":503,\"message\":\"" + rejection + "\"}");
+            } catch (Exception ignored) {}
+            return null;
+        }
 
-        log.info("SSE Emitter 생성: emitterId={}, roomType={}, 현재 연결 수={}", emitterId, roomTypeNorm, emitters.size());
+        log.info("SSE Emitter 생성: emitterId={}, roomType={}, 방 연결 수={}, 전체 연결 수={}",
+                emitterId, roomTypeNorm, subscriberRegistry.size(roomTypeNorm), subscriberRegistry.size());
 
-        Runnable cleanup = () -> {
-            ScheduledFuture<?> future = scheduledTasks.remove(emitterId);
-            if (future != null) future.cancel(false);
-            emitters.remove(emitterId);
-            lastMessageIds.remove(emitterId);
-            emitterRoomTypes.remove(emitterId);
-        };
+        Runnable cleanup = () -> removeSubscriber(subscriber);
+        subscriber.onClose(cleanup);
 
         emitter.onCompletion(() -> {
             log.info("SSE 연결 종료: emitterId={}", emitterId);
@@ -147,59 +142,57 @@ public class GroupChatSSEController {
                     .data("SSE connection established"));
             log.info("✓ 초기 연결 이벤트 전송 성공");
             
-            sendInitialMessages(emitter, roomTypeNorm, lastId);
+            sendInitialMessages(subscriber, lastId);
         } catch (IOException e) {
             log.error("초기 이벤트 전송 실패: emitterId={}", emitterId, e);
-            emitters.remove(emitterId);
-            lastMessageIds.remove(emitterId);
-            emitterRoomTypes.remove(emitterId);
+            removeSubscriber(subscriber);
             emitter.completeWithError(e);
             return emitter;
         }
 
         // DB 폴링 없음. 새 메시지는 broadcastMessage() 호출 시에만 푸시됨 (실시간).
-        // 연결 유지용 keep-alive만 30초마다 전송 (DB 조회 없음).
-        ScheduledFuture<?> future = executor.scheduleAtFixedRate(() -> {
-            try {
-                if (!emitters.containsKey(emitterId)) {
-                    return;
-                }
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("ping")
-                            .comment("keep-alive"));
-                } catch (Exception e) {
-                    log.debug("SSE keep-alive 실패(연결 끊김): emitterId={}", emitterId);
-                    ScheduledFuture<?> f = scheduledTasks.remove(emitterId);
-                    if (f != null) f.cancel(false);
-                    emitters.remove(emitterId);
-                    lastMessageIds.remove(emitterId);
-                    emitterRoomTypes.remove(emitterId);
-                }
-            } catch (Exception e) {
-                log.warn("SSE keep-alive 오류: emitterId={}", emitterId, e);
-                ScheduledFuture<?> f = scheduledTasks.remove(emitterId);
-                if (f != null) f.cancel(false);
-                emitters.remove(emitterId);
-                lastMessageIds.remove(emitterId);
-                emitterRoomTypes.remove(emitterId);
-            }
-        }, 30, 30, TimeUnit.SECONDS);
-
-        scheduledTasks.put(emitterId, future);
+        // 연결 유지용 keep-alive는 공유 휠이 30초 주기로 전송 (DB 조회 없음).
+        heartbeatWheel.add(subscriber);
         return emitter;
     }
 
-    private void sendInitialMessages(SseEmitter emitter, String roomType, Long lastId) {
+    /** 구독 해제 + keep-alive 휠에서 제거 */
+    private void removeSubscriber(ChatSubscriber subscriber) {
+        subscriber.markClosed();
+        subscriberRegistry.unregister(subscriber);
+        heartbeatWheel.remove(subscriber);
+    }
+
+    private static long resolveResumeId(Long lastIdParam, String lastEventIdHeader) {
+        long resumeId = lastIdParam != null && lastIdParam > 0 ? lastIdParam : 0L;
+        if (lastEventIdHeader != null && !lastEventIdHeader.isBlank()) {
+            try {
+                resumeId = Math.max(resumeId, Long.parseLong(lastEventIdHeader.trim()));
+            } catch (NumberFormatException ignored) {}
+        }
+        return resumeId;
+    }
+
+    /**
+     * lastId 이후 메시지를 요청 스레드에서 바로 전송 (큐 용량과 무관하게 전체 backlog 전송).
+     * lastId 메시지가 이미 보관 기간을 지나 삭제됐으면 gap 이벤트를 먼저 보내 누락 가능성을 알림.
+     */
+    private void sendInitialMessages(ChatSubscriber subscriber, long lastId) {
         try {
-            List<GroupChatModel> recentMessages = getMessagesAfterId(roomType, lastId);
-            log.info("초기 메시지 개수: roomType={}, count={}", roomType, recentMessages.size());
+            if (lastId > 0 && !isRetained(subscriber.getRoom(), lastId)) {
+                log.info("SSE 재연결 gap: roomType={}, lastId={} (보관 기간 경과)", subscriber.getRoom(), lastId);
+                SseFrame gap = SseFrame.event(null, "gap", "{\"lastId\":" + lastId + ",\"reason\":\"retention\"}");
+                gap.writeTo(subscriber.getEmitter());
+                subscriber.recordSent(gap);
+            }
+            List<GroupChatModel> recentMessages = getMessagesAfterId(subscriber.getRoom(), lastId);
+            log.info("초기 메시지 개수: roomType={}, count={}", subscriber.getRoom(), recentMessages.size());
             if (recentMessages.isEmpty()) return;
             for (GroupChatModel msg : recentMessages) {
-                emitter.send(SseEmitter.event()
-                        .id(String.valueOf(msg.getId()))
-                        .name("message")
-                        .data(msg));
+                SseFrame frame = SseFrame.event(String.valueOf(msg.getId()), "message", objectMapper.writeValueAsString(msg));
+                frame.writeTo(subscriber.getEmitter());
+                subscriber.recordSent(frame);
+                subscriber.advanceTo(msg.getId());
             }
         } catch (Exception e) {
             log.error("초기 메시지 전송 오류", e);
@@ -209,13 +202,26 @@ public class GroupChatSSEController {
     private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
     private static final int RETENTION_HOURS = 24;
 
-    private List<GroupChatModel> getMessagesAfterId(String roomType, Long lastId) {
+    /** lastId 메시지가 보관 기간 내에 남아 있는지 (메모리 버퍼로 판단 불가하면 DB 확인) */
+    private boolean isRetained(ChatRoomType room, long lastId) {
+        Boolean retained = recentBuffer.retains(room, lastId);
+        if (retained != null) return retained;
         try {
-            if (lastId == null || lastId < 0) lastId = 0L;
-            ChatRoomType rt = ChatRoomType.SILVER;
-            try {
-                rt = ChatRoomType.valueOf(roomType != null ? roomType.toUpperCase() : "SILVER");
-            } catch (Exception ignored) {}
+            return groupChatRepository.existsByIdAndCreatedAtAfter(lastId, LocalDateTime.now(ZONE).minusHours(RETENTION_HOURS));
+        } catch (Exception e) {
+            log.warn("SSE gap 판정 실패: lastId={}", lastId, e);
+            return true;
+        }
+    }
+
+    private List<GroupChatModel> getMessagesAfterId(ChatRoomType rt, long lastId) {
+        try {
+            if (lastId < 0) lastId = 0L;
+            // 메모리 버퍼가 lastId 이후를 모두 갖고 있으면 DB 조회 없이 응답
+            Optional<List<GroupChatModel>> buffered = recentBuffer.messagesAfter(rt, lastId);
+            if (buffered.isPresent()) {
+                return buffered.get();
+            }
             LocalDateTime cutoff = LocalDateTime.now(ZONE).minusHours(RETENTION_HOURS);
             List<GroupChat> entities = groupChatRepository.findByIdGreaterThanAndRoomTypeAndCreatedAtAfterOrderByCreatedAtAsc(lastId, rt, cutoff);
             return entities.stream().map(this::entityToModel).collect(Collectors.toList());
@@ -238,40 +244,57 @@ public class GroupChatSSEController {
                 .build();
     }
     
-    /** 같은 방(roomType)에 연결된 클라이언트에게만 새 메시지 브로드캐스트 */
+    /**
+     * 방 채널 구독이 확인되고 버퍼 예열이 끝난 뒤 호출: 구독이 살아나기 전에 연결된 구독자가
+     * 초기 메시지 조회와 구독 확인 사이에 놓친 메시지를 보냄 (이미 받은 ID는 advanceTo로 건너뜀).
+     */
+    public void catchUp(ChatRoomType room) {
+        Map<Long, SseFrame> frames = new HashMap<>();
+        for (ChatSubscriber subscriber : subscriberRegistry.subscribers(room)) {
+            for (GroupChatModel message : getMessagesAfterId(room, subscriber.getLastMessageId().get())) {
+                SseFrame frame = frames.computeIfAbsent(message.getId(), id -> {
+                    try {
+                        return SseFrame.event(String.valueOf(id), "message", objectMapper.writeValueAsString(message));
+                    } catch (JsonProcessingException e) {
+                        log.warn("catch-up 실패: 메시지 직렬화 오류 messageId={}", id, e);
+                        return null;
+                    }
+                });
+                if (frame != null && subscriber.advanceTo(message.getId())) {
+                    chatDispatcher.enqueue(subscriber, frame);
+                }
+            }
+        }
+    }
+
+    /**
+     * 같은 방(roomType)에 연결된 클라이언트에게만 새 메시지 브로드캐스트 (해당 방 구독자만 순회).
+     * 메시지는 SSE 프레임으로 한 번만 직렬화하고 모든 구독자에게 같은 바이트를 씀.
+     * 실제 전송은 ChatDispatcher가 비동기로 처리하므로 호출자는 큐에 넣는 즉시 반환.
+     */
     public void broadcastMessage(GroupChatModel message) {
         if (message == null || message.getId() == null) {
             log.warn("브로드캐스트 실패: 메시지가 null이거나 ID가 없음");
             return;
         }
-        String msgRoom = message.getRoomType() != null ? message.getRoomType().toUpperCase() : "SILVER";
-        if (emitters.isEmpty()) return;
-        List<String> toRemove = new java.util.ArrayList<>();
-        int successCount = 0;
-        for (java.util.Map.Entry<String, SseEmitter> entry : emitters.entrySet()) {
-            String emitterId = entry.getKey();
-            if (!msgRoom.equals(emitterRoomTypes.get(emitterId))) continue;
-            SseEmitter emitter = entry.getValue();
-            AtomicLong currentLastId = lastMessageIds.get(emitterId);
+        ChatRoomType msgRoom = ChatRoomType.SILVER;
+        if (message.getRoomType() != null) {
             try {
-                if (currentLastId != null && message.getId() > currentLastId.get()) {
-                    currentLastId.set(message.getId());
-                    emitter.send(SseEmitter.event()
-                            .id(String.valueOf(message.getId()))
-                            .name("message")
-                            .data(message));
-                    successCount++;
-                }
-            } catch (IOException e) {
-                log.debug("SSE 브로드캐스트 오류: emitterId={}", emitterId, e);
-                toRemove.add(emitterId);
-            }
+                msgRoom = ChatRoomType.valueOf(message.getRoomType().toUpperCase());
+            } catch (IllegalArgumentException ignored) {}
         }
-        for (String emitterId : toRemove) {
-            emitters.remove(emitterId);
-            lastMessageIds.remove(emitterId);
-            emitterRoomTypes.remove(emitterId);
+        if (subscriberRegistry.size(msgRoom) == 0) return;
+        SseFrame frame;
+        try {
+            frame = SseFrame.event(String.valueOf(message.getId()), "message", objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.warn("브로드캐스트 실패: 메시지 직렬화 오류 messageId={}", message.getId(), e);
+            return;
+        }
+        for (ChatSubscriber subscriber : subscriberRegistry.subscribers(msgRoom)) {
+            if (subscriber.advanceTo(message.getId())) {
+                chatDispatcher.enqueue(subscriber, frame);
+            }
         }
     }
 }
-
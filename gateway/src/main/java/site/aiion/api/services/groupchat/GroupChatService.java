@@ -14,6 +14,11 @@ public interface GroupChatService {
      */
     Messenger findAll(Pageable pageable);
     
+    /**
+     * 방별 이전 메시지 조회 (before 커서 이전, 최신순, keyset 페이지네이션)
+     */
+    Messenger findHistory(String roomType, String before, int limit);
+
     /**
      * 최근 메시지 N개 조회 (방별)
      */
@@ -2,15 +2,18 @@ package site.aiion.api.services.groupchat;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import site.aiion.api.services.user.common.domain.Messenger;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,24 +25,21 @@ public class GroupChatServiceImpl implements GroupChatService {
     /** 메시지 보관 시간(시간). 이 시간이 지나면 조회에서 제외되고 스케줄러가 삭제함 */
     private static final int RETENTION_HOURS = 24;
     private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    /** 이전 메시지 조회 1회 최대 건수 */
+    private static final int MAX_HISTORY_LIMIT = 100;
+    /** 최근 메시지 조회 1회 최대 건수 */
+    private static final int MAX_RECENT_LIMIT = 200;
 
     private final GroupChatRepository groupChatRepository;
-    private final ApplicationContext applicationContext;
+    private final GroupChatRecentBuffer recentBuffer;
+    private final GroupChatFanout fanout;
+    private final GroupChatWriteBehind writeBehind;
+    private final GroupChatRetentionPurger retentionPurger;
 
     private static LocalDateTime cutoffNow() {
         return LocalDateTime.now(ZONE).minusHours(RETENTION_HOURS);
     }
     
-    // SSE 컨트롤러 가져오기 (순환 참조 방지)
-    private GroupChatSSEController getSseController() {
-        try {
-            return applicationContext.getBean(GroupChatSSEController.class);
-        } catch (Exception e) {
-            log.debug("SSE 컨트롤러를 가져올 수 없음 (정상 - 초기화 중일 수 있음)");
-            return null;
-        }
-    }
-
     private GroupChatModel entityToModel(GroupChat entity) {
         if (entity == null) {
             return null;
@@ -97,24 +97,26 @@ public class GroupChatServiceImpl implements GroupChatService {
 
         try {
             GroupChat entity = modelToEntity(groupChatModel);
-            GroupChat savedEntity = groupChatRepository.save(entity);
+            // write-behind 모드: ID만 즉시 부여하고 INSERT는 배치로 나중에 (브로드캐스트는 바로)
+            GroupChat savedEntity = writeBehind.isEnabled()
+                    ? writeBehind.submit(entity)
+                    : groupChatRepository.save(entity);
             GroupChatModel savedModel = entityToModel(savedEntity);
 
             log.info("그룹 채팅 메시지 저장 성공: userId={}, id={}", groupChatModel.getUserId(), savedEntity.getId());
-            
-            // SSE로 모든 연결된 클라이언트에게 즉시 브로드캐스트
-            try {
-                GroupChatSSEController sseController = getSseController();
-                if (sseController != null) {
-                    sseController.broadcastMessage(savedModel);
-                    log.info("SSE 브로드캐스트 완료: messageId={}", savedEntity.getId());
-                } else {
-                    log.debug("SSE 컨트롤러를 가져올 수 없음 (정상 - 메시지는 저장됨)");
+
+            // 커밋 후: 이 노드 메모리 버퍼에 바로 추가하고, Redis로 모든 노드에 전파
+            // → 각 노드가 메모리 버퍼 갱신 및 로컬 SSE 구독자에게 브로드캐스트
+            afterCommit(() -> {
+                recentBuffer.append(savedModel);
+                try {
+                    fanout.publish(savedModel);
+                    log.info("SSE 브로드캐스트 요청 완료: messageId={}", savedModel.getId());
+                } catch (Exception e) {
+                    log.warn("SSE 브로드캐스트 실패 (메시지는 저장됨): messageId={}", savedModel.getId(), e);
+                    // 브로드캐스트 실패해도 메시지 저장은 성공으로 처리
                 }
-            } catch (Exception e) {
-                log.warn("SSE 브로드캐스트 실패 (메시지는 저장됨): messageId={}", savedEntity.getId(), e);
-                // 브로드캐스트 실패해도 메시지 저장은 성공으로 처리
-            }
+            });
             
             return Messenger.builder()
                     .code(200)
@@ -130,13 +132,25 @@ public class GroupChatServiceImpl implements GroupChatService {
         }
     }
 
+    /** 트랜잭션 안이면 커밋 후에, 아니면 바로 실행 (롤백된 메시지가 버퍼·구독자에게 나가지 않도록) */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public Messenger findAll(Pageable pageable) {
         try {
-            Page<GroupChat> page = groupChatRepository.findAllByOrderByCreatedAtDesc(pageable);
-            List<GroupChatModel> messages = page.getContent().stream()
-                    .map(this::entityToModel)
-                    .collect(Collectors.toList());
+            List<GroupChatModel> messages = groupChatRepository.findAllModels(pageable).getContent();
 
             return Messenger.builder()
                     .code(200)
@@ -153,7 +167,15 @@ public class GroupChatServiceImpl implements GroupChatService {
     }
 
     @Override
-    public Messenger findRecentMessages(String roomType, int limit) {
+    @Transactional(readOnly = true)
+    public Messenger findHistory(String roomType, String before, int limit) {
+        Long beforeId = decodeCursor(before);
+        if (before != null && !before.isBlank() && beforeId == null) {
+            return Messenger.builder()
+                    .code(400)
+                    .message("유효하지 않은 커서입니다.")
+                    .build();
+        }
         try {
             ChatRoomType rt = ChatRoomType.SILVER;
             if (roomType != null && !roomType.isBlank()) {
@@ -161,12 +183,66 @@ public class GroupChatServiceImpl implements GroupChatService {
                     rt = ChatRoomType.valueOf(roomType.toUpperCase());
                 } catch (Exception ignored) {}
             }
-            LocalDateTime cutoff = cutoffNow();
-            List<GroupChat> entities = groupChatRepository.findTop50ByRoomTypeAndCreatedAtAfterOrderByCreatedAtDesc(rt, cutoff);
-            List<GroupChatModel> messages = entities.stream()
-                    .limit(limit)
+            int size = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+            // OFFSET 없이 id 기준으로 자르므로 깊은 페이지도 첫 페이지와 비용이 같음
+            Slice<GroupChat> slice = groupChatRepository.findByRoomTypeAndIdLessThanAndCreatedAtAfterOrderByIdDesc(
+                    rt, beforeId != null ? beforeId : Long.MAX_VALUE, cutoffNow(), PageRequest.of(0, size));
+            List<GroupChatModel> messages = slice.getContent().stream()
                     .map(this::entityToModel)
                     .collect(Collectors.toList());
+            String nextCursor = slice.hasNext() && !messages.isEmpty()
+                    ? encodeCursor(messages.get(messages.size() - 1).getId())
+                    : null;
+
+            return Messenger.builder()
+                    .code(200)
+                    .message("이전 메시지 조회 성공")
+                    .data(GroupChatHistoryModel.builder()
+                            .messages(messages)
+                            .nextCursor(nextCursor)
+                            .hasNext(nextCursor != null)
+                            .build())
+                    .build();
+        } catch (Exception e) {
+            log.error("이전 메시지 조회 중 오류 발생", e);
+            return Messenger.builder()
+                    .code(500)
+                    .message("이전 메시지 조회 중 오류가 발생했습니다: " + e.getMessage())
+                    .build();
+        }
+    }
+
+    /** 커서는 마지막 메시지 id를 감싼 불투명 문자열 (클라이언트는 받은 그대로 before에 넘김) */
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("id:" + id).getBytes());
+    }
+
+    /** 비어 있으면 null(최신부터), 형식이 틀리면 null */
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()));
+            return decoded.startsWith("id:") ? Long.parseLong(decoded.substring(3)) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Messenger findRecentMessages(String roomType, int limit) {
+        try {
+            ChatRoomType rt = ChatRoomType.SILVER;
+            if (roomType != null && !roomType.isBlank()) {
+                try {
+                    rt = ChatRoomType.valueOf(roomType.toUpperCase());
+                } catch (Exception ignored) {}
+            }
+            int size = Math.max(1, Math.min(limit, MAX_RECENT_LIMIT));
+            // 메모리 버퍼로 충분하면 DB 조회 없음. 아니면 limit을 SQL로 내려 모델로 바로 조회
+            ChatRoomType room = rt;
+            List<GroupChatModel> messages = recentBuffer.latest(room, size)
+                    .orElseGet(() -> groupChatRepository.findRecentModels(room, cutoffNow(), PageRequest.of(0, size)));
 
             return Messenger.builder()
                     .code(200)
@@ -183,23 +259,23 @@ public class GroupChatServiceImpl implements GroupChatService {
     }
 
     @Override
-    @Transactional
     public int deleteMessagesOlderThanRetention() {
-        LocalDateTime cutoff = cutoffNow();
-        long count = groupChatRepository.countByCreatedAtBefore(cutoff);
+        // chunk 단위 bulk DELETE (chunk마다 별도 트랜잭션)
+        int count = retentionPurger.purge(cutoffNow());
         if (count > 0) {
-            groupChatRepository.deleteByCreatedAtBefore(cutoff);
             log.info("단체채팅 24시간 경과 메시지 삭제: {} 건", count);
         }
-        return (int) count;
+        return count;
     }
 
     @Override
     @Transactional
     public Messenger deleteAll() {
         try {
+            writeBehind.discardPending();
             long count = groupChatRepository.count();
             groupChatRepository.deleteAll();
+            recentBuffer.clear();
             log.info("그룹 채팅 메시지 전체 삭제 성공: {} 개", count);
             return Messenger.builder()
                     .code(200)
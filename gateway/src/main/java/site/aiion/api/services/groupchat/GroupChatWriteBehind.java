@@ -0,0 +1,227 @@
+package site.aiion.api.services.groupchat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단체채팅 메시지 write-behind 저장 (groupchat.write-behind.enabled=true일 때만 사용).
+ * 메시지마다 INSERT·커밋을 하지 않고, 시퀀스에서 ID를 받아 큐에 넣고
+ * 전용 스레드가 batch-size건 또는 flush-interval-ms마다 여러 행 INSERT 한 번으로 저장.
+ * 단, ID는 메시지마다 nextval 한 번(SELECT 왕복 1회)으로 받으므로 메시지당 DB 왕복이 완전히 없어지지는 않음:
+ * 노드별 ID 블록을 쓰면 노드 간 ID 순서가 시간 순서와 어긋나 SSE cursor(advanceTo)·last-id 조회에서 메시지가 빠짐.
+ * 줄어드는 것은 행마다의 INSERT·인덱스 갱신·커밋(WAL flush)이고, nextval은 락 없이 끝나는 가벼운 조회.
+ * 큐는 queue-capacity건으로 제한하고, 가득 차면 submit 호출자가 직접 INSERT (저장이 밀리면 전송도 느려짐).
+ * 실패한 배치는 max-attempts번까지 재시도한 뒤 한 행씩 나눠 저장하고, 제약 위반 등으로 저장할 수 없는 행은
+ * 로그에 남기고 버림. DB 장애 같은 그 밖의 오류는 계속 재시도하며, 종료 시 남은 메시지를 모두 저장한 뒤 끝남.
+ */
+@Slf4j
+@Component
+public class GroupChatWriteBehind {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final String INSERT_PREFIX =
+            "INSERT INTO group_chats (id, room_type, user_id, username, message, looking_for_buddy, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?,?,?,?,?,?,?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxAttempts;
+    private final Timer flushTimer;
+    private final Counter droppedCounter;
+
+    private final LinkedBlockingQueue<GroupChat> pending;
+    /** flusher가 모으거나 저장 중인 배치. 종료 시 큐로 되돌리지 않고(가득 차 있을 수 있음) stop()이 이어서 저장 */
+    private final List<GroupChat> inFlight = new ArrayList<>();
+    private volatile String idSequence;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public GroupChatWriteBehind(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${groupchat.write-behind.enabled:false}") boolean enabled,
+            @Value("${groupchat.write-behind.batch-size:200}") int batchSize,
+            @Value("${groupchat.write-behind.flush-interval-ms:100}") long flushIntervalMillis,
+            @Value("${groupchat.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${groupchat.write-behind.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1L, flushIntervalMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.pending = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.flushTimer = Timer.builder("groupchat.write-behind.flush")
+                .description("write-behind 배치 INSERT 시간")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("groupchat.write-behind.dropped")
+                .description("저장할 수 없어 버린 메시지 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("groupchat.write-behind.pending", pending, LinkedBlockingQueue::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        flusher = new Thread(this::runFlusher, "groupchat-write-behind");
+        flusher.start();
+        log.info("단체채팅 write-behind 저장 활성화: batchSize={}, flushIntervalMs={}", batchSize, flushIntervalMillis);
+    }
+
+    /** 종료 시 flusher를 멈추고 남은 메시지를 모두 저장 (DataSource보다 먼저 정리됨) */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) return;
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        List<GroupChat> rest = new ArrayList<>();
+        if (flusher.isAlive()) {
+            log.warn("단체채팅 write-behind flusher가 종료되지 않음: 저장 중이던 배치 {}건은 flusher가 마저 처리", inFlight.size());
+        } else {
+            rest.addAll(inFlight);
+            inFlight.clear();
+        }
+        pending.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            insert(rest.subList(from, Math.min(rest.size(), from + batchSize)));
+        }
+        log.info("단체채팅 write-behind 종료: 남은 메시지 {}건 저장", rest.size());
+    }
+
+    /**
+     * ID와 생성 시각을 부여하고 저장 큐에 넣음. DB 반영은 다음 flush 때.
+     * 큐가 가득 차 있으면 호출 스레드에서 바로 INSERT (실패하면 예외가 호출자에게 전달됨).
+     * 반환한 엔티티는 바로 브로드캐스트/응답에 써도 됨.
+     */
+    public GroupChat submit(GroupChat entity) {
+        entity.setId(nextId());
+        entity.setCreatedAt(LocalDateTime.now(ZONE));
+        if (entity.getLookingForBuddy() == null) entity.setLookingForBuddy(false);
+        if (!pending.offer(entity)) {
+            log.warn("단체채팅 write-behind 큐 가득 참: 직접 저장 id={}", entity.getId());
+            insert(List.of(entity));
+        }
+        return entity;
+    }
+
+    /** 아직 저장되지 않은 메시지 버림 (전체 삭제 시) */
+    public void discardPending() {
+        pending.clear();
+    }
+
+    /** IDENTITY 컬럼의 시퀀스를 그대로 사용하므로 동기 저장 경로와 ID 순서가 섞이지 않음 */
+    private long nextId() {
+        String sequence = idSequence;
+        if (sequence == null) {
+            sequence = jdbcTemplate.queryForObject("SELECT pg_get_serial_sequence('group_chats', 'id')", String.class);
+            idSequence = sequence;
+        }
+        return jdbcTemplate.queryForObject("SELECT nextval(?::regclass)", Long.class, sequence);
+    }
+
+    private void runFlusher() {
+        List<GroupChat> batch = inFlight;
+        int failures = 0;
+        while (running || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    GroupChat first = pending.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                    // 첫 메시지 이후 flush-interval 동안 batch-size까지 모음
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                    while (batch.size() < batchSize) {
+                        long waitNanos = deadline - System.nanoTime();
+                        if (waitNanos <= 0) break;
+                        GroupChat next = pending.poll(waitNanos, TimeUnit.NANOSECONDS);
+                        if (next == null) break;
+                        batch.add(next);
+                    }
+                }
+                if (failures < maxAttempts) {
+                    insert(batch);
+                } else {
+                    insertEachOrDrop(batch);
+                }
+                batch.clear();
+                failures = 0;
+            } catch (InterruptedException e) {
+                // 종료 요청: 모으던 배치는 inFlight에 남겨 stop()에서 저장
+                return;
+            } catch (Exception e) {
+                failures++;
+                log.warn("단체채팅 write-behind 저장 실패 (재시도 {}회째): count={}", failures, batch.size(), e);
+                try {
+                    Thread.sleep(flushIntervalMillis * 10);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 배치 INSERT가 거듭 실패할 때: 한 행씩 저장하고, 제약 위반으로 저장할 수 없는 행만 로그에 남기고 버림.
+     * 그 밖의 오류(DB 연결 실패 등)는 그대로 던져 남은 행을 다음 시도에서 다시 저장.
+     */
+    private void insertEachOrDrop(List<GroupChat> batch) {
+        Iterator<GroupChat> it = batch.iterator();
+        while (it.hasNext()) {
+            GroupChat chat = it.next();
+            try {
+                insert(List.of(chat));
+            } catch (DataIntegrityViolationException e) {
+                droppedCounter.increment();
+                log.error("단체채팅 write-behind 저장 불가, 메시지 버림: id={}, roomType={}, userId={}, createdAt={}, message={}",
+                        chat.getId(), chat.getRoomType(), chat.getUserId(), chat.getCreatedAt(), chat.getMessage(), e);
+            }
+            it.remove();
+        }
+    }
+
+    /** 여러 행 INSERT 한 번 */
+    private void insert(List<GroupChat> batch) {
+        if (batch.isEmpty()) return;
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 1));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * 7];
+        int i = 0;
+        for (GroupChat chat : batch) {
+            if (i > 0) sql.append(',');
+            sql.append(ROW_PLACEHOLDER);
+            args[i++] = chat.getId();
+            args[i++] = chat.getRoomType() != null ? chat.getRoomType().name() : null;
+            args[i++] = chat.getUserId();
+            args[i++] = chat.getUsername();
+            args[i++] = chat.getMessage();
+            args[i++] = chat.getLookingForBuddy();
+            args[i++] = Timestamp.valueOf(chat.getCreatedAt());
+        }
+        flushTimer.record(() -> jdbcTemplate.update(sql.toString(), args));
+        log.debug("단체채팅 write-behind 저장: {}건", batch.size());
+    }
+}
@@ -0,0 +1,69 @@
+package site.aiion.api.services.groupchat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SSE 스트림 입장 제어.
+ * 노드 전체 / 방별 / 사용자별 동시 연결 수 상한을 넘으면 등록하지 않고 거절 사유를 돌려줌.
+ * 재연결 폭주 시 클라이언트가 한꺼번에 다시 붙지 않도록 Retry-After에 지터를 섞음.
+ */
+@Slf4j
+@Component
+public class SseAdmissionControl {
+
+    private final ChatSubscriberRegistry subscriberRegistry;
+    private final int maxConnections;
+    private final int maxPerRoom;
+    private final int maxPerUser;
+    private final int retryAfterSeconds;
+    private final int retryAfterJitterSeconds;
+
+    public SseAdmissionControl(
+            ChatSubscriberRegistry subscriberRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${groupchat.sse.max-connections:5000}") int maxConnections,
+            @Value("${groupchat.sse.max-connections-per-room:2000}") int maxPerRoom,
+            @Value("${groupchat.sse.max-connections-per-user:3}") int maxPerUser,
+            @Value("${groupchat.sse.retry-after-seconds:5}") int retryAfterSeconds,
+            @Value("${groupchat.sse.retry-after-jitter-seconds:10}") int retryAfterJitterSeconds) {
+        this.subscriberRegistry = subscriberRegistry;
+        this.maxConnections = maxConnections;
+        this.maxPerRoom = maxPerRoom;
+        this.maxPerUser = maxPerUser;
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+        this.retryAfterJitterSeconds = Math.max(0, retryAfterJitterSeconds);
+        meterRegistry.gauge("groupchat.sse.connections", Tags.of("room", "ALL"), subscriberRegistry, ChatSubscriberRegistry::size);
+        for (ChatRoomType room : ChatRoomType.values()) {
+            meterRegistry.gauge("groupchat.sse.connections", Tags.of("room", room.name()), subscriberRegistry, r -> r.size(room));
+        }
+    }
+
+    /**
+     * 상한 이내면 구독자를 등록하고 null, 아니면 등록하지 않고 거절 사유 반환.
+     * 확인과 등록 사이에 다른 입장이 끼어들지 않도록 입장끼리는 직렬화 (해제는 수만 줄이므로 잠금 불필요).
+     */
+    public synchronized String tryAdmit(ChatSubscriber subscriber) {
+        if (subscriberRegistry.size() >= maxConnections) {
+            return "서버 연결 수가 최대치에 도달했습니다.";
+        }
+        if (subscriberRegistry.size(subscriber.getRoom()) >= maxPerRoom) {
+            return "채팅방 연결 수가 최대치에 도달했습니다.";
+        }
+        if (subscriber.getUserId() != null && subscriberRegistry.size(subscriber.getUserId()) >= maxPerUser) {
+            return "동시에 열 수 있는 채팅 스트림 수를 초과했습니다.";
+        }
+        subscriberRegistry.register(subscriber);
+        return null;
+    }
+
+    /** 거절 응답의 Retry-After (기본값 + 0~jitter초 랜덤) */
+    public int retryAfterSeconds() {
+        return retryAfterSeconds + ThreadLocalRandom.current().nextInt(retryAfterJitterSeconds + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package site.aiion.api.services.groupchat;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 미리 인코딩된 SSE 이벤트 프레임 (id:/event:/data: 바이트).
+ * 메시지당 한 번만 직렬화하고, 같은 바이트 배열을 방의 모든 구독자에게 그대로 씀.
+ */
+public final class SseFrame {
+
+    private final byte[] bytes;
+    private final Set<ResponseBodyEmitter.DataWithMediaType> payload;
+    private final int length;
+    /** data가 있는 이벤트 프레임인지 (주석/keep-alive는 false) */
+    private final boolean event;
+
+    private SseFrame(String text, boolean event) {
+        this.bytes = text.getBytes(StandardCharsets.UTF_8);
+        this.payload = Set.of(new ResponseBodyEmitter.DataWithMediaType(bytes, MediaType.TEXT_PLAIN));
+        this.length = bytes.length;
+        this.event = event;
+    }
+
+    /** id/event/data 프레임. data가 여러 줄이면 줄마다 data: 접두사를 붙임 (SSE 규격) */
+    public static SseFrame event(String id, String name, String data) {
+        StringBuilder sb = new StringBuilder(data.length() + 48);
+        if (id != null) sb.append("id:").append(id).append('\n');
+        if (name != null) sb.append("event:").append(name).append('\n');
+        for (String line : data.split("\n", -1)) {
+            sb.append("data:").append(line).append('\n');
+        }
+        sb.append('\n');
+        return new SseFrame(sb.toString(), true);
+    }
+
+    /** 주석 프레임 (": text"). EventSource는 무시하므로 keep-alive 용도 */
+    public static SseFrame comment(String text) {
+        return new SseFrame(":" + text + "\n\n", false);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEvent() {
+        return event;
+    }
+
+    public void writeTo(SseEmitter emitter) throws IOException {
+        emitter.send(payload);
+    }
+
+    /** 여러 프레임을 한 번의 write + flush로 전송 (프레임 바이트를 순서대로 이어 붙임) */
+    public static void writeAll(SseEmitter emitter, List<SseFrame> frames) throws IOException {
+        if (frames.size() == 1) {
+            frames.get(0).writeTo(emitter);
+            return;
+        }
+        int total = 0;
+        for (SseFrame frame : frames) {
+            total += frame.length;
+        }
+        byte[] merged = new byte[total];
+        int offset = 0;
+        for (SseFrame frame : frames) {
+            System.arraycopy(frame.bytes, 0, merged, offset, frame.length);
+            offset += frame.length;
+        }
+        emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(merged, MediaType.TEXT_PLAIN)));
+    }
+}
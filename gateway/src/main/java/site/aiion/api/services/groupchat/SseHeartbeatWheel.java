@@ -0,0 +1,126 @@
+package site.aiion.api.services.groupchat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 모든 SSE 연결이 공유하는 keep-alive 휠.
+ * 연결마다 타이머를 두지 않고, 구독자를 슬롯에 나눠 담은 뒤 스레드 하나가 매 tick마다 슬롯 하나씩 순회.
+ * ping은 heartbeat 주기 전체에 고르게 퍼지고, 같은 순회에서 이미 닫힌 연결을 정리함.
+ */
+@Slf4j
+@Component
+public class SseHeartbeatWheel {
+
+    private static final SseFrame PING_FRAME = SseFrame.comment("keep-alive");
+
+    private final ChatDispatcher chatDispatcher;
+    private final int slotCount;
+    private final long tickMillis;
+    private final Set<ChatSubscriber>[] slots;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final Timer sweepTimer;
+    private final DistributionSummary reapedSummary;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-heartbeat-wheel");
+        t.setDaemon(true);
+        return t;
+    });
+    private int cursor;
+
+    @SuppressWarnings("unchecked")
+    public SseHeartbeatWheel(
+            ChatDispatcher chatDispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${groupchat.sse.heartbeat-interval-seconds:30}") int intervalSeconds,
+            @Value("${groupchat.sse.heartbeat-slots:30}") int slotCount) {
+        this.chatDispatcher = chatDispatcher;
+        this.slotCount = Math.max(1, slotCount);
+        this.tickMillis = Math.max(1L, TimeUnit.SECONDS.toMillis(intervalSeconds) / this.slotCount);
+        this.slots = new Set[this.slotCount];
+        for (int i = 0; i < this.slotCount; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.sweepTimer = Timer.builder("groupchat.sse.heartbeat.sweep")
+                .description("keep-alive 휠 슬롯 1개 순회 시간")
+                .register(meterRegistry);
+        this.reapedSummary = DistributionSummary.builder("groupchat.sse.heartbeat.reaped")
+                .description("순회 1회당 정리된 끊긴 연결 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("groupchat.sse.heartbeat.subscribers", this, SseHeartbeatWheel::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /** 라운드로빈으로 슬롯 배정 (연결이 몰려도 ping이 한 tick에 몰리지 않음) */
+    public void add(ChatSubscriber subscriber) {
+        int slot = Math.floorMod(nextSlot.getAndIncrement(), slotCount);
+        subscriber.heartbeatSlot = slot;
+        slots[slot].add(subscriber);
+    }
+
+    public void remove(ChatSubscriber subscriber) {
+        int slot = subscriber.heartbeatSlot;
+        if (slot >= 0) {
+            slots[slot].remove(subscriber);
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Set<ChatSubscriber> slot : slots) {
+            total += slot.size();
+        }
+        return total;
+    }
+
+    private void tick() {
+        try {
+            Set<ChatSubscriber> slot = slots[cursor];
+            cursor = (cursor + 1) % slotCount;
+            sweepTimer.record(() -> reapedSummary.record(sweep(slot)));
+        } catch (Exception e) {
+            log.warn("SSE keep-alive 휠 순회 오류", e);
+        }
+    }
+
+    /** 살아 있는 구독자에게 ping을 넣고, 닫힌 구독자는 슬롯에서 제거. 제거 수 반환 */
+    private int sweep(Set<ChatSubscriber> slot) {
+        int reaped = 0;
+        for (Iterator<ChatSubscriber> it = slot.iterator(); it.hasNext(); ) {
+            ChatSubscriber subscriber = it.next();
+            if (subscriber.isClosed()) {
+                it.remove();
+                reaped++;
+                continue;
+            }
+            chatDispatcher.enqueue(subscriber, PING_FRAME);
+        }
+        if (reaped > 0) {
+            log.debug("SSE keep-alive 휠: 끊긴 연결 {}건 정리", reaped);
+        }
+        return reaped;
+    }
+}
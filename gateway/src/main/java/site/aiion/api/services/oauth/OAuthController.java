@@ -6,6 +6,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import site.aiion.api.services.oauth.token.TokenService;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
 import site.aiion.api.services.oauth.util.JwtTokenProvider;
 
 import java.util.HashMap;
@@ -55,16 +56,15 @@ public class OAuthController {
             
             String token = authorization.substring(7); // "Bearer " 제거
             
-            // 토큰 유효성 검증
-            if (!jwtTokenProvider.validateToken(token)) {
+            // 토큰 유효성 검증 (한 번 파싱한 결과에서 사용자 ID와 provider 추출)
+            JwtPrincipal principal = jwtTokenProvider.verify(token).orElse(null);
+            if (principal == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(createErrorResponse("유효하지 않은 토큰입니다."));
             }
             
-            // 토큰에서 사용자 ID와 provider 추출
-            var claims = jwtTokenProvider.getAllClaimsFromToken(token);
-            String userId = claims.getSubject();
-            String tokenProvider = provider != null ? provider : claims.get("provider", String.class);
+            String userId = principal.userId();
+            String tokenProvider = provider != null ? provider : principal.provider();
             
             if (userId == null) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -80,6 +80,8 @@ public class OAuthController {
             
             // Redis에서 토큰 삭제
             tokenService.deleteTokens(tokenProvider, userId);
+            // 이미 발급된 JWT 폐기 (검증 캐시에서도 제거)
+            jwtTokenProvider.revokeTokens(userId);
             
             System.out.println("[OAuthController] 토큰 삭제 완료 - userId: " + userId + ", provider: " + tokenProvider);
             
@@ -6,9 +6,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import site.aiion.api.services.oauth.token.TokenService;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
 import site.aiion.api.services.oauth.util.JwtTokenProvider;
 import site.aiion.api.services.user.UserService;
-import site.aiion.api.services.user.UserModel;
 import site.aiion.api.services.user.common.domain.Messenger;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,7 +37,7 @@ public class AuthController {
      * HttpOnly 쿠키의 Refresh Token을 사용하여 새로운 Access Token 발급
      */
     @PostMapping("/refresh")
-    @Operation(summary = "Access Token 갱신", description = "HttpOnly 쿠키의 Refresh Token으로 새로운 Access Token을 발급합니다.")
+    @Operation(summary = "Access Token 갱신", description = "HttpOnly 쿠키의 Refresh Token으로 새로운 Access Token을 발급하고, Refresh Token도 새 토큰으로 교체합니다.")
     public ResponseEntity<Map<String, Object>> refreshAccessToken(
             HttpServletRequest request,
             HttpServletResponse response) {
@@ -68,8 +68,9 @@ public class AuthController {
             
             System.out.println("Refresh Token을 쿠키에서 가져옴");
             
-            // 2. Refresh Token 검증
-            if (!jwtTokenProvider.validateToken(refreshToken)) {
+            // 2. Refresh Token 검증 (한 번 파싱한 결과에서 사용자 정보까지 꺼냄)
+            JwtPrincipal principal = jwtTokenProvider.verify(refreshToken).orElse(null);
+            if (principal == null) {
                 System.err.println("Refresh Token이 유효하지 않습니다.");
                 
                 // 쿠키 삭제 (설정 시와 동일한 Secure 값으로 삭제)
@@ -87,10 +88,10 @@ public class AuthController {
             }
             
             // 3. Refresh Token에서 사용자 정보 추출
-            String userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-            String provider = jwtTokenProvider.getProviderFromToken(refreshToken);
+            String userId = principal.userId();
+            String provider = principal.provider();
             
-            if (userId == null || provider == null) {
+            if (userId == null || provider == null || !"refresh".equals(principal.type())) {
                 System.err.println("Refresh Token에서 사용자 정보를 추출할 수 없습니다.");
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("success", false);
@@ -100,20 +101,10 @@ public class AuthController {
             
             System.out.println("사용자 정보 추출: userId=" + userId + ", provider=" + provider);
             
-            // 4. User 테이블에서 Refresh Token 조회 및 검증
-            Messenger userMessenger = userService.findById(UserModel.builder().id(Long.parseLong(userId)).build());
-            if (userMessenger.getCode() != 200 || userMessenger.getData() == null) {
-                System.err.println("사용자를 찾을 수 없습니다.");
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("message", "사용자를 찾을 수 없습니다.");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
-            }
-            
-            UserModel user = (UserModel) userMessenger.getData();
-            String storedRefreshToken = user.getRefreshToken();
-            
-            if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken)) {
+            // 4. Refresh Token 교체 (저장된 해시와 비교 + 새 해시 저장을 UPDATE 한 번으로, 동시 갱신 중 하나만 성공)
+            String newRefreshToken = jwtTokenProvider.generateRefreshToken(userId, provider);
+            Messenger rotation = userService.rotateRefreshToken(Long.parseLong(userId), refreshToken, newRefreshToken);
+            if (rotation.getCode() != 200 && rotation.getCode() != 409) {
                 System.err.println("User 테이블에 저장된 Refresh Token과 일치하지 않습니다.");
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("success", false);
@@ -121,7 +112,17 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
             }
             
-            System.out.println("User 테이블의 Refresh Token 검증 완료");
+            // 교체에 성공한 요청만 새 쿠키 설정 (409: 다른 탭이 방금 교체해 새 쿠키는 이미 전달됨)
+            if (rotation.getCode() == 200) {
+                Cookie refreshTokenCookie = new Cookie("refresh_token", newRefreshToken);
+                refreshTokenCookie.setHttpOnly(true);
+                refreshTokenCookie.setSecure(request.isSecure());
+                refreshTokenCookie.setPath("/");
+                refreshTokenCookie.setMaxAge(30 * 24 * 60 * 60); // 30일
+                refreshTokenCookie.setAttribute("SameSite", "Lax");
+                response.addCookie(refreshTokenCookie);
+                System.out.println("Refresh Token 교체 완료");
+            }
             
             // 5. 새로운 Access Token 생성
             Map<String, Object> userInfo = new HashMap<>();
@@ -182,8 +183,9 @@ public class AuthController {
             // 2. Refresh Token이 있으면 User 테이블과 Redis에서 삭제
             if (refreshToken != null && !refreshToken.isEmpty()) {
                 try {
-                    String userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-                    String provider = jwtTokenProvider.getProviderFromToken(refreshToken);
+                    JwtPrincipal principal = jwtTokenProvider.verify(refreshToken).orElse(null);
+                    String userId = principal != null ? principal.userId() : null;
+                    String provider = principal != null ? principal.provider() : null;
                     
                     if (userId != null && provider != null) {
                         // User 테이블의 Refresh Token 삭제
@@ -197,6 +199,9 @@ public class AuthController {
                         // Redis의 Access Token 삭제
                         tokenService.deleteTokens(provider, userId);
                         System.out.println("Redis에서 Access Token 삭제 완료: userId=" + userId + ", provider=" + provider);
+                        
+                        // 이미 발급된 JWT 폐기 (검증 캐시에서도 제거)
+                        jwtTokenProvider.revokeTokens(userId);
                     } else {
                         System.err.println("Refresh Token에서 userId 또는 provider를 추출할 수 없습니다.");
                     }
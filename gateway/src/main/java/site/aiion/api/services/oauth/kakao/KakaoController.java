@@ -3,9 +3,11 @@ package site.aiion.api.services.oauth.kakao;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.view.RedirectView;
 import site.aiion.api.services.oauth.token.TokenService;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
 import site.aiion.api.services.oauth.util.JwtTokenProvider;
 
 import java.net.URLEncoder;
@@ -396,6 +398,7 @@ public class KakaoController {
     @GetMapping("/user")
     @Operation(summary = "카카오 사용자 정보 조회", description = "카카오 OAuth 토큰을 사용하여 사용자 정보를 조회합니다.")
     public ResponseEntity<Map<String, Object>> kakaoUserInfo(
+            @AuthenticationPrincipal JwtPrincipal principal,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
         System.out.println("=== 카카오 사용자 정보 조회 요청 수신 ===");
@@ -408,16 +411,16 @@ public class KakaoController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
             
-            String token = authHeader.substring(7);
-            if (!jwtTokenProvider.validateToken(token)) {
+            // 서명·만료·폐기(로그아웃) 확인은 JwtAuthenticationFilter(verify)에서 끝남 - 통과 못 하면 principal 없음
+            if (principal == null) {
                 response.put("success", false);
                 response.put("message", "유효하지 않은 토큰입니다.");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
+            String userId = principal.userId();
             
-            // JWT 토큰에서 사용자 정보 추출
-            String userId = jwtTokenProvider.getUserIdFromToken(token);
-            var claims = jwtTokenProvider.getAllClaimsFromToken(token);
+            // 프로필 클레임(nickname, email 등)은 principal에 없으므로 검증된 토큰에서 읽음
+            io.jsonwebtoken.Claims claims = jwtTokenProvider.getAllClaimsFromToken(authHeader.substring(7));
             
             // Redis에서 토큰 확인 (선택적)
             String storedToken = tokenService.getAccessToken("kakao", userId);
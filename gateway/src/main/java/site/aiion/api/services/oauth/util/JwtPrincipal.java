@@ -0,0 +1,28 @@
+package site.aiion.api.services.oauth.util;
+
+import java.time.Instant;
+
+/**
+ * 서명 검증을 마친 JWT의 내용 (한 번 파싱한 결과를 그대로 들고 다님).
+ * @param userId    subject (사용자 ID 문자열)
+ * @param provider  OAuth2 제공자 (kakao, naver, google)
+ * @param type      access / refresh
+ * @param issuedAt  발급 시각 (로그아웃 폐기 판단용)
+ * @param expiresAt 만료 시각
+ */
+public record JwtPrincipal(String userId, String provider, String type, Instant issuedAt, Instant expiresAt) {
+
+    /** 숫자 사용자 ID. subject가 숫자가 아니면 null */
+    public Long numericUserId() {
+        if (userId == null) return null;
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -1,8 +1,10 @@
 package site.aiion.api.services.oauth.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -10,6 +12,8 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * JWT 토큰 생성 및 검증 서비스
@@ -17,6 +21,12 @@ import java.util.Map;
 @Component
 public class JwtTokenProvider {
     
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     @Value("${jwt.secret}")
     private String jwtSecret;
     
@@ -26,12 +36,59 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration:2592000000}") // 기본 30일
     private long refreshTokenExpiration;
     
+    /** 서명 키와 파서는 기동 시 한 번만 만들고 재사용 (둘 다 불변, 스레드 안전) */
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    private SecretKey getSigningKey() {
+        return signingKey;
+    }
+
     /**
-     * SecretKey 생성
+     * JWT 토큰을 한 번만 파싱/검증해 principal로 반환.
+     * 이미 검증한 토큰은 캐시에서 바로 꺼내고, 로그아웃으로 폐기된 토큰은 거부.
+     * @param token JWT 토큰
+     * @return 유효하면 principal, 서명 불일치·만료·형식 오류·폐기면 empty
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        String tokenHash = TokenHash.sha256(token);
+        JwtPrincipal principal = verifiedTokenCache.get(tokenHash);
+        if (principal == null) {
+            try {
+                Claims claims = parser.parseSignedClaims(token).getPayload();
+                principal = new JwtPrincipal(
+                        claims.getSubject(),
+                        claims.get("provider", String.class),
+                        claims.get("type", String.class),
+                        claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                        claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            } catch (Exception e) {
+                System.err.println("JWT 토큰 검증 실패: " + e.getMessage());
+                return Optional.empty();
+            }
+            // 재시작 등으로 다른 노드의 폐기 알림을 못 받았을 수 있으므로 처음 보는 토큰은 Redis 기록 확인
+            verifiedTokenCache.loadRevocation(principal.userId());
+            verifiedTokenCache.put(tokenHash, principal);
+        }
+        if (verifiedTokenCache.isRevoked(principal)) {
+            return Optional.empty();
+        }
+        return Optional.of(principal);
+    }
+
+    /**
+     * 로그아웃: 해당 사용자에게 지금까지 발급된 토큰을 폐기
+     * @param userId 사용자 ID
+     */
+    public void revokeTokens(String userId) {
+        verifiedTokenCache.revoke(userId);
     }
     
     /**
@@ -70,6 +127,7 @@ public class JwtTokenProvider {
                 .subject(userId)
                 .claim("provider", provider)
                 .claim("type", "refresh")
+                .id(UUID.randomUUID().toString()) // 같은 초에 재발급해도 토큰(해시)이 달라지도록
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -82,9 +140,7 @@ public class JwtTokenProvider {
      * @return 사용자 ID
      */
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        Claims claims = parser
                 .parseSignedClaims(token)
                 .getPayload();
         
@@ -97,9 +153,7 @@ public class JwtTokenProvider {
      * @return OAuth2 제공자 (kakao, naver, google)
      */
     public String getProviderFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        Claims claims = parser
                 .parseSignedClaims(token)
                 .getPayload();
         
@@ -112,9 +166,7 @@ public class JwtTokenProvider {
      * @return 클레임 정보
      */
     public Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -125,16 +177,7 @@ public class JwtTokenProvider {
      * @return 유효 여부
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            System.err.println("JWT 토큰 검증 실패: " + e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
     
     /**
@@ -0,0 +1,27 @@
+package site.aiion.api.services.oauth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 해시 (SHA-256, Base64 44자 고정 길이).
+ * 검증 캐시 키와 DB의 Refresh Token 저장값으로 사용 (원본 토큰은 보관하지 않음).
+ */
+public final class TokenHash {
+
+    /** 해시 문자열 길이 (DB 컬럼 길이) */
+    public static final int LENGTH = 44;
+
+    private TokenHash() {}
+
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
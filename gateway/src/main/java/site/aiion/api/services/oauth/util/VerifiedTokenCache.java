@@ -0,0 +1,205 @@
+package site.aiion.api.services.oauth.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증을 마친 JWT → principal 캐시.
+ * 같은 Access Token이 만료 전까지 수천 번 들어오므로, 토큰 해시로 찾으면 base64 디코딩·JSON 파싱·HMAC 검증을 건너뜀.
+ * 요청마다 조회하므로 전역 잠금 없는 Caffeine 캐시를 씀: 항목은 토큰의 exp에 맞춰 만료되고,
+ * 최대 개수를 넘으면 Caffeine의 빈도 기반 정책(W-TinyLFU)으로 밀어냄 (eviction은 비동기라 잠시 넘칠 수 있음).
+ * 로그아웃 시 revoke(userId)로 그 시점 이전에 발급된 해당 사용자의 토큰을 모두 거부.
+ * 폐기 기록은 Redis에도 남겨(jwt:revoked:{userId}, TTL = Refresh Token 수명) 모든 노드가 공유:
+ * 다른 노드에는 pub/sub(jwt:revoked 채널)로 즉시 알리고, 재시작 등으로 알림을 못 받은 노드는
+ * 캐시에 없는 토큰을 처음 검증할 때 Redis 기록을 확인함 (Redis 장애 시 노드 로컬 기록만 사용).
+ */
+@Component
+public class VerifiedTokenCache implements MessageListener {
+
+    private static final String REVOKED_KEY_PREFIX = "jwt:revoked:";
+    private static final ChannelTopic REVOKED_TOPIC = new ChannelTopic("jwt:revoked");
+    private static final String REDIS_WARN = "[VerifiedTokenCache] Redis 연결 실패(노드 로컬 폐기 기록만 사용): ";
+
+    private final int maxEntries;
+    private final long revocationRetentionSeconds;
+    /** TokenHash.sha256(토큰) → 검증된 principal. 원본 토큰은 메모리에 남기지 않음 */
+    private final Cache<String, JwtPrincipal> entries;
+    /** 사용자 ID → 이 시각(epoch 초) 이전에 발급된 토큰은 무효 */
+    private final ConcurrentHashMap<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer container;
+
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            StringRedisTemplate redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            @Value("${jwt.verified-cache.max-entries:10000}") int maxEntries,
+            @Value("${jwt.refresh-token-expiration:2592000000}") long refreshTokenExpirationMillis) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(this.maxEntries)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal value, long currentTime) {
+                        return untilExpiry(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+                        return untilExpiry(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        // 가장 오래 사는 토큰(Refresh)이 만료될 때까지만 폐기 기록을 유지하면 충분
+        this.revocationRetentionSeconds = Math.max(1L, refreshTokenExpirationMillis / 1000);
+        this.hits = Counter.builder("jwt.verified-cache.requests")
+                .description("검증된 JWT 캐시 조회")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.verified-cache.requests")
+                .description("검증된 JWT 캐시 조회")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("jwt.verified-cache.size", entries, Cache::estimatedSize);
+        meterRegistry.gauge("jwt.verified-cache.revoked-users", revokedBefore, ConcurrentHashMap::size);
+    }
+
+    /** 캐시된 principal. 없거나 만료됐으면 null (만료 항목은 제거) */
+    public JwtPrincipal get(String tokenHash) {
+        JwtPrincipal principal = entries.getIfPresent(tokenHash);
+        if (principal == null) {
+            misses.increment();
+            return null;
+        }
+        // Caffeine 만료는 나노초 타이머 기준이므로 exp 경계는 시계로 한 번 더 확인
+        if (principal.isExpired()) {
+            entries.asMap().remove(tokenHash, principal);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return principal;
+    }
+
+    public void put(String tokenHash, JwtPrincipal principal) {
+        if (maxEntries == 0 || principal.expiresAt() == null || principal.isExpired()) return;
+        entries.put(tokenHash, principal);
+    }
+
+    /** 폐기(로그아웃) 이후에도 남아 있는 토큰인지 */
+    public boolean isRevoked(JwtPrincipal principal) {
+        if (principal.userId() == null) return false;
+        Long before = revokedBefore.get(principal.userId());
+        if (before == null) return false;
+        // iat가 없는 토큰은 발급 시점을 알 수 없으므로 폐기된 것으로 취급
+        return principal.issuedAt() == null || principal.issuedAt().getEpochSecond() < before;
+    }
+
+    /** 다른 노드의 폐기 알림 구독 (Redis가 없어도 기동은 계속) */
+    @PostConstruct
+    public void start() {
+        try {
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.afterPropertiesSet();
+            container.start();
+            container.addMessageListener(this, REVOKED_TOPIC);
+        } catch (Exception e) {
+            System.err.println(REDIS_WARN + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 해당 사용자에게 지금까지 발급된 토큰을 모두 폐기하고 캐시에서도 제거.
+     * iat가 초 단위라 로그아웃과 같은 초에 발급된 토큰은 유지됨 (직후 재로그인한 토큰을 막지 않기 위함).
+     */
+    public void revoke(String userId) {
+        if (userId == null) return;
+        long nowSeconds = Instant.now().getEpochSecond();
+        applyRevocation(userId, nowSeconds);
+        try {
+            redisTemplate.opsForValue().set(REVOKED_KEY_PREFIX + userId, String.valueOf(nowSeconds),
+                    revocationRetentionSeconds, TimeUnit.SECONDS);
+            redisTemplate.convertAndSend(REVOKED_TOPIC.getTopic(), userId + ":" + nowSeconds);
+        } catch (Exception e) {
+            System.err.println(REDIS_WARN + e.getMessage());
+        }
+    }
+
+    /**
+     * Redis에 남은 해당 사용자의 폐기 기록을 노드 로컬 기록에 반영.
+     * 캐시에 없던 토큰을 처음 검증할 때만 호출 (요청마다 Redis를 조회하지 않음)
+     */
+    public void loadRevocation(String userId) {
+        if (userId == null) return;
+        try {
+            String before = redisTemplate.opsForValue().get(REVOKED_KEY_PREFIX + userId);
+            if (before != null) {
+                applyRevocation(userId, Long.parseLong(before));
+            }
+        } catch (Exception e) {
+            System.err.println(REDIS_WARN + e.getMessage());
+        }
+    }
+
+    /** 다른 노드에서 보낸 폐기 알림 ("userId:epoch초") */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.lastIndexOf(':');
+        if (sep <= 0) return;
+        try {
+            applyRevocation(body.substring(0, sep), Long.parseLong(body.substring(sep + 1)));
+        } catch (NumberFormatException e) {
+            System.err.println("[VerifiedTokenCache] 잘못된 폐기 알림: " + body);
+        }
+    }
+
+    private void applyRevocation(String userId, long beforeSeconds) {
+        revokedBefore.merge(userId, beforeSeconds, Math::max);
+        long nowSeconds = Instant.now().getEpochSecond();
+        revokedBefore.values().removeIf(before -> nowSeconds - before > revocationRetentionSeconds);
+        entries.asMap().values().removeIf(p -> userId.equals(p.userId()) && isRevoked(p));
+    }
+
+    /** exp까지 남은 시간 (나노초) */
+    private static long untilExpiry(JwtPrincipal principal) {
+        return Math.max(0L, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+    }
+}
@@ -1,9 +1,10 @@
 package site.aiion.api.services.user;
 
 import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
-import site.aiion.api.services.oauth.util.JwtTokenProvider;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
 import site.aiion.api.services.user.common.domain.Messenger;
 
 @RestController
@@ -12,24 +13,17 @@ import site.aiion.api.services.user.common.domain.Messenger;
 public class FriendController {
 
     private final FriendService friendService;
-    private final JwtTokenProvider jwtTokenProvider;
 
-    private Long getUserIdFromAuth(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) return null;
-        String token = authHeader.substring(7);
-        if (!jwtTokenProvider.validateToken(token)) return null;
-        try {
-            return Long.parseLong(jwtTokenProvider.getUserIdFromToken(token));
-        } catch (NumberFormatException e) {
-            return null;
-        }
+    /** 인증된 사용자 ID (SecurityConfig에서 인증 필수 경로라 principal은 항상 있음), 숫자가 아니면 null */
+    private static Long getUserId(JwtPrincipal principal) {
+        return principal != null ? principal.numericUserId() : null;
     }
 
     @PostMapping("/request")
     public Messenger sendRequest(
             @RequestBody java.util.Map<String, Object> body,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        Long fromUserId = getUserIdFromAuth(authHeader);
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        Long fromUserId = getUserId(principal);
         if (fromUserId == null) {
             return Messenger.builder().code(401).message("인증이 필요합니다.").build();
         }
@@ -42,8 +36,8 @@ public class FriendController {
     }
 
     @GetMapping("/requests")
-    public Messenger listPendingToMe(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        Long toUserId = getUserIdFromAuth(authHeader);
+    public Messenger listPendingToMe(@AuthenticationPrincipal JwtPrincipal principal) {
+        Long toUserId = getUserId(principal);
         if (toUserId == null) {
             return Messenger.builder().code(401).message("인증이 필요합니다.").build();
         }
@@ -53,8 +47,8 @@ public class FriendController {
     @PostMapping("/accept")
     public Messenger accept(
             @RequestBody java.util.Map<String, Object> body,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        Long toUserId = getUserIdFromAuth(authHeader);
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        Long toUserId = getUserId(principal);
         if (toUserId == null) {
             return Messenger.builder().code(401).message("인증이 필요합니다.").build();
         }
@@ -67,8 +61,8 @@ public class FriendController {
     }
 
     @GetMapping
-    public Messenger listFriends(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        Long userId = getUserIdFromAuth(authHeader);
+    public Messenger listFriends(@AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = getUserId(principal);
         if (userId == null) {
             return Messenger.builder().code(401).message("인증이 필요합니다.").build();
         }
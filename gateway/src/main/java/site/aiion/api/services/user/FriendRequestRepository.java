@@ -1,6 +1,8 @@
 package site.aiion.api.services.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +12,12 @@ public interface FriendRequestRepository extends JpaRepository<FriendRequest, Lo
     Optional<FriendRequest> findByFromUserIdAndToUserId(Long fromUserId, Long toUserId);
     List<FriendRequest> findByToUserIdAndStatus(Long toUserId, String status);
     List<FriendRequest> findByFromUserIdAndStatus(Long fromUserId, String status);
+
+    /** 내가 보낸 요청 중 해당 상태인 상대 ID만 조회 */
+    @Query("SELECT f.toUserId FROM FriendRequest f WHERE f.fromUserId = :fromUserId AND f.status = :status")
+    List<Long> findToUserIdsByFromUserIdAndStatus(@Param("fromUserId") Long fromUserId, @Param("status") String status);
+
+    /** 내가 받은 요청 중 해당 상태인 상대 ID만 조회 */
+    @Query("SELECT f.fromUserId FROM FriendRequest f WHERE f.toUserId = :toUserId AND f.status = :status")
+    List<Long> findFromUserIdsByToUserIdAndStatus(@Param("toUserId") Long toUserId, @Param("status") String status);
 }
@@ -1,8 +1,12 @@
 package site.aiion.api.services.user;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -58,13 +62,10 @@ public class FriendServiceImpl implements FriendService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Messenger listPendingToMe(Long toUserId) {
-        List<FriendRequest> list = friendRequestRepository.findByToUserIdAndStatus(toUserId, "PENDING");
-        List<Long> fromIds = list.stream().map(FriendRequest::getFromUserId).distinct().collect(Collectors.toList());
-        List<UserModel> users = new ArrayList<>();
-        for (Long id : fromIds) {
-            userRepository.findById(id).ifPresent(u -> users.add(toModel(u)));
-        }
+        Set<Long> fromIds = new LinkedHashSet<>(friendRequestRepository.findFromUserIdsByToUserIdAndStatus(toUserId, "PENDING"));
+        List<UserModel> users = findUserModels(fromIds);
         return Messenger.builder().code(200).message("받은 친구 요청").data(users).build();
     }
 
@@ -81,20 +82,28 @@ public class FriendServiceImpl implements FriendService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Messenger listFriends(Long userId) {
-        List<FriendRequest> sent = friendRequestRepository.findByFromUserIdAndStatus(userId, "ACCEPTED");
-        List<FriendRequest> received = friendRequestRepository.findByToUserIdAndStatus(userId, "ACCEPTED");
-        List<Long> friendIds = new ArrayList<>();
-        sent.forEach(f -> friendIds.add(f.getToUserId()));
-        received.forEach(f -> friendIds.add(f.getFromUserId()));
-        List<UserModel> friends = friendIds.stream().distinct()
-                .flatMap(id -> userRepository.findById(id).stream())
-                .map(this::toModel)
-                .collect(Collectors.toList());
+        Set<Long> friendIds = new LinkedHashSet<>(friendRequestRepository.findToUserIdsByFromUserIdAndStatus(userId, "ACCEPTED"));
+        friendIds.addAll(friendRequestRepository.findFromUserIdsByToUserIdAndStatus(userId, "ACCEPTED"));
+        List<UserModel> friends = findUserModels(friendIds);
         return Messenger.builder().code(200).message("친구 목록").data(friends).build();
     }
 
-    private UserModel toModel(User u) {
+    /** 사용자 요약을 한 번에 조회해 ids 순서대로 모델 변환 (없는 사용자는 제외) */
+    private List<UserModel> findUserModels(Set<Long> ids) {
+        if (ids.isEmpty()) return new ArrayList<>();
+        Map<Long, UserSummary> byId = userRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserSummary::getId, Function.identity()));
+        List<UserModel> users = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            UserSummary u = byId.get(id);
+            if (u != null) users.add(toModel(u));
+        }
+        return users;
+    }
+
+    private UserModel toModel(UserSummary u) {
         int h = u.getHonor() != null ? u.getHonor() : 0;
         String tier = h >= 1000 ? "DIAMOND" : h >= 500 ? "PLATINUM" : h >= 100 ? "GOLD" : "SILVER";
         return UserModel.builder()
@@ -33,10 +33,21 @@ public class User {
     @Column(name = "provider_id", nullable = false)
     private String providerId;
 
-    // Refresh Token 저장 (HttpOnly 쿠키와 별도로 DB에도 저장하여 검증)
+    // Refresh Token 원문 (이전 방식, 더 이상 저장하지 않음 - 기존 행은 다음 갱신 때 해시로 전환)
     @Column(name = "refresh_token", length = 1000)
     private String refreshToken;
 
+    // Refresh Token 해시 (SHA-256 Base64, 고정 길이). HttpOnly 쿠키의 토큰을 해시해 비교
+    @Column(name = "refresh_token_hash", length = 44)
+    private String refreshTokenHash;
+
+    // 직전 Refresh Token 해시와 교체 시각 (여러 탭이 동시에 갱신할 때 짧은 유예 동안 허용)
+    @Column(name = "refresh_token_prev_hash", length = 44)
+    private String refreshTokenPrevHash;
+
+    @Column(name = "refresh_token_rotated_at")
+    private java.time.LocalDateTime refreshTokenRotatedAt;
+
     /** 명예도 (0~). 등급: 실버(0~99), 골드(100~499), 플래티넘(500~999), 다이아(1000+) */
     @Column(name = "honor", nullable = false, columnDefinition = "integer not null default 0")
     private Integer honor = 0;
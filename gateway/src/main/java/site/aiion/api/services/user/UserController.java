@@ -3,13 +3,14 @@ package site.aiion.api.services.user;
 import java.util.List;
 
 import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import site.aiion.api.services.user.common.domain.Messenger;
-import site.aiion.api.services.oauth.util.JwtTokenProvider;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
 
 /**
  * [메모] www.tourstory.site 설정 페이지(/settings) 연동
@@ -24,7 +25,6 @@ import site.aiion.api.services.oauth.util.JwtTokenProvider;
 public class UserController {
 
     private final UserService userService;
-    private final JwtTokenProvider jwtTokenProvider;
 
     @PostMapping("/findById")
     @Operation(summary = "사용자 ID로 조회", description = "사용자 ID를 받아 해당 사용자 정보를 조회합니다.")
@@ -74,18 +74,9 @@ public class UserController {
     @Operation(summary = "명예도 올리기/내리기", description = "다른 사용자에게 명예도 UP(+1) 또는 DOWN(-1). 하루에 한 번만 동일 액션 가능.")
     public Messenger voteHonor(
             @RequestBody java.util.Map<String, Object> body,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder().code(401).message("인증이 필요합니다.").build();
-        }
-        String token = authHeader.substring(7);
-        if (!jwtTokenProvider.validateToken(token)) {
-            return Messenger.builder().code(401).message("유효하지 않은 토큰입니다.").build();
-        }
-        Long voterId;
-        try {
-            voterId = Long.parseLong(jwtTokenProvider.getUserIdFromToken(token));
-        } catch (NumberFormatException e) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        Long voterId = principal != null ? principal.numericUserId() : null;
+        if (voterId == null) {
             return Messenger.builder().code(401).message("토큰에서 사용자 ID를 추출할 수 없습니다.").build();
         }
         Object targetObj = body.get("targetUserId");
@@ -0,0 +1,64 @@
+package site.aiion.api.services.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 사용자 ID → 명예도 캐시 (단체채팅 방 입장/전송 권한 확인용).
+ * 채팅 전송·스트림 연결마다 사용자 전체를 조회하지 않도록 짧은 TTL 동안 메모리에 보관하고
+ * (최대 MAX_ENTRIES개, 넘치면 Caffeine이 사용 빈도가 낮은 항목부터 제거),
+ * 명예도가 바뀌는 곳(명예도 투표, 사용자 수정)에서 evict로 즉시 무효화.
+ */
+@Component
+public class UserHonorCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> cache;
+
+    public UserHonorCache(
+            UserRepository userRepository,
+            @Value("${user.honor-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(0L, ttlSeconds)))
+                .build();
+    }
+
+    /** 사용자 명예도 (없는 사용자는 0) */
+    public int honorOf(Long userId) {
+        if (userId == null) return 0;
+        Integer cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        int honor = userRepository.findHonorById(userId).orElse(0);
+        cache.put(userId, honor);
+        return honor;
+    }
+
+    /**
+     * 명예도가 바뀐 경우 즉시 반영.
+     * 트랜잭션 안에서 호출되면 커밋 후에도 한 번 더 비움 (커밋 전에 다른 요청이 옛 값을 다시 캐시하는 것 방지)
+     */
+    public void evict(Long userId) {
+        if (userId == null) return;
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package site.aiion.api.services.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사용자 ID → 표시 이름(닉네임, 없으면 이름) 변환.
+ * 목록 응답에서 행마다 findById 하지 않도록 페이지 단위로 ID를 모아 한 번에 조회하고,
+ * 짧은 TTL 동안 메모리에 캐시 (닉네임 변경은 최대 TTL만큼 늦게 반영됨).
+ * 캐시는 최대 MAX_ENTRIES개이고, 넘치면 Caffeine이 사용 빈도가 낮은 항목부터 제거.
+ */
+@Component
+public class UserNameResolver {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, String> cache;
+
+    public UserNameResolver(
+            UserRepository userRepository,
+            @Value("${user.name-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(0L, ttlSeconds)))
+                .build();
+    }
+
+    /** 여러 ID를 한 번에 변환. 캐시에 없는 ID만 한 번의 IN 조회로 가져옴. 없는 사용자·이름이 빈 사용자는 "사용자 {id}" */
+    public Map<Long, String> resolve(Collection<Long> userIds) {
+        Map<Long, String> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long id : userIds) {
+            if (id == null || result.containsKey(id)) continue;
+            String cached = cache.getIfPresent(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (UserSummary user : userRepository.findSummariesByIdIn(missing)) {
+                String name = displayName(user);
+                result.put(user.getId(), name);
+                cache.put(user.getId(), name);
+                missing.remove(user.getId());
+            }
+            for (Long id : missing) {
+                result.put(id, "사용자 " + id);
+            }
+        }
+        return result;
+    }
+
+    public String resolve(Long userId) {
+        if (userId == null) return null;
+        return resolve(Set.of(userId)).get(userId);
+    }
+
+    /** 닉네임이 바뀐 경우 즉시 반영 */
+    public void evict(Long userId) {
+        if (userId != null) cache.invalidate(userId);
+    }
+
+    /** 닉네임, 없으면 이름, 둘 다 비어 있으면 "사용자 {id}" (없는 사용자와 같은 표시) */
+    private static String displayName(UserSummary user) {
+        if (user.getNickname() != null && !user.getNickname().isEmpty()) return user.getNickname();
+        if (user.getName() != null && !user.getName().isEmpty()) return user.getName();
+        return "사용자 " + user.getId();
+    }
+}
@@ -1,6 +1,9 @@
 package site.aiion.api.services.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -10,4 +13,30 @@ public interface UserRepository extends JpaRepository<User, Long>, UserRepositor
     
     // Provider ID와 제공자로 사용자 조회 (sub는 변하지 않으므로 더 안정적)
     java.util.Optional<User> findByProviderIdAndProvider(String providerId, String provider);
+
+    // 여러 사용자 요약 정보 한 번에 조회 (목록 응답용 프로젝션)
+    java.util.List<UserSummary> findSummariesByIdIn(java.util.Collection<Long> ids);
+
+    // 명예도만 조회 (단체채팅 권한 확인용, 사용자 전체를 읽지 않음)
+    @Query("SELECT COALESCE(u.honor, 0) FROM User u WHERE u.id = :id")
+    java.util.Optional<Integer> findHonorById(@Param("id") Long id);
+
+    // Refresh Token 저장 (로그인 시). 해시만 남기고 원문·직전 해시는 비움
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.refreshTokenHash = :hash, u.refreshToken = NULL, u.refreshTokenPrevHash = NULL, "
+            + "u.refreshTokenRotatedAt = NULL WHERE u.id = :id")
+    int updateRefreshTokenHash(@Param("id") Long id, @Param("hash") String hash);
+
+    // Refresh Token 검증과 교체를 UPDATE 한 번으로 (저장된 값이 제시된 토큰일 때만 교체되므로 동시 갱신 중 하나만 성공).
+    // 해시 컬럼이 비어 있는 기존 행은 원문 컬럼과 비교. 직전 해시는 제시된 토큰의 해시 (기존 행도 유예 확인이 되도록)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.refreshTokenPrevHash = :oldHash, u.refreshTokenHash = :newHash, "
+            + "u.refreshToken = NULL, u.refreshTokenRotatedAt = :now "
+            + "WHERE u.id = :id AND (u.refreshTokenHash = :oldHash OR (u.refreshTokenHash IS NULL AND u.refreshToken = :oldToken))")
+    int rotateRefreshToken(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("oldToken") String oldToken,
+                           @Param("newHash") String newHash, @Param("now") java.time.LocalDateTime now);
+
+    // 직전 Refresh Token이 since 이후에 교체됐는지 (동시 갱신 유예 확인)
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.id = :id AND u.refreshTokenPrevHash = :hash AND u.refreshTokenRotatedAt > :since")
+    boolean existsRecentlyRotated(@Param("id") Long id, @Param("hash") String hash, @Param("since") java.time.LocalDateTime since);
 }
@@ -13,6 +13,8 @@ public interface UserService {
     public Messenger update(UserModel userModel);
     public Messenger delete(UserModel userModel);
     public Messenger updateRefreshToken(Long userId, String refreshToken);
+    /** 제시된 Refresh Token이 저장된 값과 같을 때만 새 토큰으로 교체 (200: 교체, 409: 유예 시간 내 동시 교체, 401: 불일치) */
+    public Messenger rotateRefreshToken(Long userId, String currentRefreshToken, String newRefreshToken);
     /** 명예도 올리기/내리기 (하루에 한 번만 voter→target에 대해 동일 액션 가능) */
     public Messenger voteHonor(Long voterId, Long targetUserId, String action);
 }
@@ -1,11 +1,13 @@
 package site.aiion.api.services.user;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import site.aiion.api.services.oauth.util.TokenHash;
 import site.aiion.api.services.user.common.domain.Messenger;
 
 @Service
@@ -22,6 +25,12 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final HonorVoteRepository honorVoteRepository;
+    private final UserNameResolver userNameResolver;
+    private final UserHonorCache userHonorCache;
+
+    /** Refresh Token 교체 직후 직전 토큰을 허용하는 시간 (여러 탭 동시 갱신 대비) */
+    @Value("${jwt.refresh-rotation-grace-seconds:10}")
+    private long refreshRotationGraceSeconds;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -261,10 +270,15 @@ public class UserServiceImpl implements UserService {
                     .provider(userModel.getProvider() != null ? userModel.getProvider() : existing.getProvider())
                     .providerId(userModel.getProviderId() != null ? userModel.getProviderId() : existing.getProviderId())
                     .refreshToken(userModel.getRefreshToken() != null ? userModel.getRefreshToken() : existing.getRefreshToken())
+                    .refreshTokenHash(existing.getRefreshTokenHash())
+                    .refreshTokenPrevHash(existing.getRefreshTokenPrevHash())
+                    .refreshTokenRotatedAt(existing.getRefreshTokenRotatedAt())
                     .honor(honor)
                     .build();
             
             User saved = userRepository.save(updated);
+            userNameResolver.evict(saved.getId());
+            userHonorCache.evict(saved.getId());
             UserModel model = entityToModel(saved);
             return Messenger.builder()
                     .code(200)
@@ -313,21 +327,9 @@ public class UserServiceImpl implements UserService {
                     .build();
         }
         
-        Optional<User> optionalEntity = userRepository.findById(userId);
-        if (optionalEntity.isPresent()) {
-            User existing = optionalEntity.get();
-            User updated = User.builder()
-                    .id(existing.getId())
-                    .name(existing.getName())
-                    .email(existing.getEmail())
-                    .nickname(existing.getNickname())
-                    .provider(existing.getProvider())
-                    .providerId(existing.getProviderId())
-                    .refreshToken(refreshToken)
-                    .honor(existing.getHonor() != null ? existing.getHonor() : 0)
-                    .build();
-            
-            userRepository.save(updated);
+        // 원문 대신 고정 길이 해시만 저장 (null이면 삭제)
+        String hash = refreshToken != null ? TokenHash.sha256(refreshToken) : null;
+        if (userRepository.updateRefreshTokenHash(userId, hash) == 1) {
             return Messenger.builder()
                     .code(200)
                     .message("Refresh Token 업데이트 성공: " + userId)
@@ -340,6 +342,38 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    @Transactional
+    public Messenger rotateRefreshToken(Long userId, String currentRefreshToken, String newRefreshToken) {
+        if (userId == null || currentRefreshToken == null || newRefreshToken == null) {
+            return Messenger.builder()
+                    .code(400)
+                    .message("사용자 ID와 Refresh Token이 필요합니다.")
+                    .build();
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+        String currentHash = TokenHash.sha256(currentRefreshToken);
+        int rotated = userRepository.rotateRefreshToken(
+                userId, currentHash, currentRefreshToken, TokenHash.sha256(newRefreshToken), now);
+        if (rotated == 1) {
+            return Messenger.builder()
+                    .code(200)
+                    .message("Refresh Token 교체 성공: " + userId)
+                    .build();
+        }
+        // 다른 탭의 동시 갱신이 방금 교체한 경우: 새 쿠키는 그쪽 응답으로 이미 전달됨
+        if (userRepository.existsRecentlyRotated(userId, currentHash, now.minusSeconds(refreshRotationGraceSeconds))) {
+            return Messenger.builder()
+                    .code(409)
+                    .message("방금 다른 요청에서 교체된 Refresh Token입니다.")
+                    .build();
+        }
+        return Messenger.builder()
+                .code(401)
+                .message("유효하지 않은 Refresh Token입니다.")
+                .build();
+    }
+
     @Override
     @Transactional
     public Messenger voteHonor(Long voterId, Long targetUserId, String action) {
@@ -395,9 +429,13 @@ public class UserServiceImpl implements UserService {
                 .provider(target.getProvider())
                 .providerId(target.getProviderId())
                 .refreshToken(target.getRefreshToken())
+                .refreshTokenHash(target.getRefreshTokenHash())
+                .refreshTokenPrevHash(target.getRefreshTokenPrevHash())
+                .refreshTokenRotatedAt(target.getRefreshTokenRotatedAt())
                 .honor(newHonor)
                 .build();
         userRepository.save(updated);
+        userHonorCache.evict(targetUserId);
         return Messenger.builder()
                 .code(200)
                 .message(act.equals("UP") ? "명예도를 올렸습니다." : "명예도를 내렸습니다.")
@@ -0,0 +1,12 @@
+package site.aiion.api.services.user;
+
+/**
+ * 사용자 목록 응답용 조회 프로젝션 (refresh token 등 나머지 컬럼은 읽지 않음).
+ */
+public interface UserSummary {
+    Long getId();
+    String getName();
+    String getEmail();
+    String getNickname();
+    Integer getHonor();
+}
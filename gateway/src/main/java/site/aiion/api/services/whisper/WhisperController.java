@@ -2,33 +2,26 @@ package site.aiion.api.services.whisper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import site.aiion.api.services.oauth.util.JwtTokenProvider;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
 import site.aiion.api.services.user.common.domain.Messenger;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/whisper")
 public class WhisperController {
 
     private final WhisperService whisperService;
-    private final JwtTokenProvider jwtTokenProvider;
 
     @PostMapping
     public Messenger send(
             @RequestBody WhisperModel model,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder().code(401).message("인증이 필요합니다.").build();
-        }
-        String token = authHeader.substring(7);
-        if (!jwtTokenProvider.validateToken(token)) {
-            return Messenger.builder().code(401).message("유효하지 않은 토큰입니다.").build();
-        }
-        Long fromUserId;
-        try {
-            fromUserId = Long.parseLong(jwtTokenProvider.getUserIdFromToken(token));
-        } catch (NumberFormatException e) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        Long fromUserId = principal != null ? principal.numericUserId() : null;
+        if (fromUserId == null) {
             return Messenger.builder().code(401).message("토큰에서 사용자 ID를 추출할 수 없습니다.").build();
         }
         return whisperService.send(fromUserId, model);
@@ -37,38 +30,32 @@ public class WhisperController {
     @GetMapping("/inbox")
     public Messenger inbox(
             @RequestParam(value = "size", defaultValue = "50") int size,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder().code(401).message("인증이 필요합니다.").build();
-        }
-        String token = authHeader.substring(7);
-        if (!jwtTokenProvider.validateToken(token)) {
-            return Messenger.builder().code(401).message("유효하지 않은 토큰입니다.").build();
-        }
-        Long userId;
-        try {
-            userId = Long.parseLong(jwtTokenProvider.getUserIdFromToken(token));
-        } catch (NumberFormatException e) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal != null ? principal.numericUserId() : null;
+        if (userId == null) {
             return Messenger.builder().code(401).message("토큰에서 사용자 ID를 추출할 수 없습니다.").build();
         }
         return whisperService.findInbox(userId, PageRequest.of(0, size));
     }
 
+    /** 받은 귓속말 읽음 처리 (본문: 귓속말 ID 배열) */
+    @PostMapping("/read")
+    public Messenger read(
+            @RequestBody List<Long> ids,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal != null ? principal.numericUserId() : null;
+        if (userId == null) {
+            return Messenger.builder().code(401).message("토큰에서 사용자 ID를 추출할 수 없습니다.").build();
+        }
+        return whisperService.markRead(userId, ids);
+    }
+
     @GetMapping("/sent")
     public Messenger sent(
             @RequestParam(value = "size", defaultValue = "50") int size,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder().code(401).message("인증이 필요합니다.").build();
-        }
-        String token = authHeader.substring(7);
-        if (!jwtTokenProvider.validateToken(token)) {
-            return Messenger.builder().code(401).message("유효하지 않은 토큰입니다.").build();
-        }
-        Long userId;
-        try {
-            userId = Long.parseLong(jwtTokenProvider.getUserIdFromToken(token));
-        } catch (NumberFormatException e) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal != null ? principal.numericUserId() : null;
+        if (userId == null) {
             return Messenger.builder().code(401).message("토큰에서 사용자 ID를 추출할 수 없습니다.").build();
         }
         return whisperService.findSent(userId, PageRequest.of(0, size));
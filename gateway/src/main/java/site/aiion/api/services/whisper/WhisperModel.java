@@ -19,4 +19,10 @@ public class WhisperModel {
     private String message;
     private LocalDateTime createdAt;
     private LocalDateTime readAt;
+
+    /** JPQL 생성자 프로젝션용 (사용자 이름은 조회 후 채움) */
+    public WhisperModel(Long id, Long fromUserId, Long toUserId, String message,
+                        LocalDateTime createdAt, LocalDateTime readAt) {
+        this(id, fromUserId, toUserId, null, null, message, createdAt, readAt);
+    }
 }
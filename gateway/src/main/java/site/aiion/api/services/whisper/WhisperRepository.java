@@ -1,11 +1,35 @@
 package site.aiion.api.services.whisper;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface WhisperRepository extends JpaRepository<WhisperMessage, Long> {
     List<WhisperMessage> findByToUserIdOrderByCreatedAtDesc(Long toUserId, org.springframework.data.domain.Pageable pageable);
     List<WhisperMessage> findByFromUserIdOrderByCreatedAtDesc(Long fromUserId, org.springframework.data.domain.Pageable pageable);
+
+    /** 안 읽은 받은 귓속말 수 */
+    long countByToUserIdAndReadAtIsNull(Long toUserId);
+
+    /** 받은 귓속말 읽음 처리 (아직 안 읽은 것만) */
+    @Modifying
+    @Query("UPDATE WhisperMessage w SET w.readAt = :now WHERE w.toUserId = :toUserId AND w.id IN :ids AND w.readAt IS NULL")
+    int markRead(@Param("toUserId") Long toUserId, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /** 받은 귓속말 최신순 (엔티티 대신 모델로 바로 조회) */
+    @Query("SELECT new site.aiion.api.services.whisper.WhisperModel(w.id, w.fromUserId, w.toUserId, w.message, w.createdAt, w.readAt) "
+            + "FROM WhisperMessage w WHERE w.toUserId = :toUserId ORDER BY w.createdAt DESC")
+    List<WhisperModel> findInboxModels(@Param("toUserId") Long toUserId, Pageable pageable);
+
+    /** 보낸 귓속말 최신순 (엔티티 대신 모델로 바로 조회) */
+    @Query("SELECT new site.aiion.api.services.whisper.WhisperModel(w.id, w.fromUserId, w.toUserId, w.message, w.createdAt, w.readAt) "
+            + "FROM WhisperMessage w WHERE w.fromUserId = :fromUserId ORDER BY w.createdAt DESC")
+    List<WhisperModel> findSentModels(@Param("fromUserId") Long fromUserId, Pageable pageable);
 }
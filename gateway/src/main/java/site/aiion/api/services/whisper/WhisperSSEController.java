@@ -0,0 +1,113 @@
+package site.aiion.api.services.whisper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import site.aiion.api.services.groupchat.ChatSubscriber;
+import site.aiion.api.services.groupchat.ChatSubscriberRegistry;
+import site.aiion.api.services.groupchat.SseHeartbeatWheel;
+import site.aiion.api.services.oauth.util.JwtPrincipal;
+
+import java.io.IOException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/whisper")
+@Tag(name = "Whisper SSE", description = "귓속말 실시간 스트리밍")
+public class WhisperSSEController {
+
+    private final WhisperSubscriberRegistry subscriberRegistry;
+    private final ChatSubscriberRegistry chatSubscriberRegistry;
+    private final SseHeartbeatWheel heartbeatWheel;
+    private final WhisperRepository whisperRepository;
+
+    public WhisperSSEController(
+            WhisperSubscriberRegistry subscriberRegistry,
+            ChatSubscriberRegistry chatSubscriberRegistry,
+            SseHeartbeatWheel heartbeatWheel,
+            WhisperRepository whisperRepository) {
+        this.subscriberRegistry = subscriberRegistry;
+        this.chatSubscriberRegistry = chatSubscriberRegistry;
+        this.heartbeatWheel = heartbeatWheel;
+        this.whisperRepository = whisperRepository;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "귓속말 실시간 스트림 (SSE)", description = "JWT 필요(token 쿼리 파라미터 또는 Authorization 헤더). "
+            + "연결 시 unread 이벤트로 안 읽은 귓속말 수를 보내고, 이후 새 귓속말이 오면 whisper 이벤트와 unread 이벤트를, 받은 귓속말을 읽음 처리(POST /api/whisper/read)하면 unread 이벤트를 보냅니다. "
+            + "사용자당 또는 서버 전체 동시 연결 수 초과 시 503.")
+    public SseEmitter stream(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            HttpServletResponse response) {
+        // 토큰(token 쿼리 파라미터 또는 Authorization 헤더)은 JwtAuthenticationFilter에서 검증됨
+        Long userId = principal != null ? principal.numericUserId() : null;
+        if (userId == null) {
+            try {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("{\"code\":401,\"message\":\"인증이 필요합니다.\"}");
+            } catch (Exception ignored) {}
+            return null;
+        }
+
+        String allowOrigin = System.getenv("FRONTEND_URL");
+        if (allowOrigin == null || allowOrigin.isEmpty()) {
+            allowOrigin = "http://localhost:3000";
+        }
+        response.setHeader("Access-Control-Allow-Origin", allowOrigin.trim().replaceFirst("/$", ""));
+        response.setHeader("Access-Control-Allow-Credentials", "true");
+        response.setHeader("Access-Control-Allow-Methods", "GET, OPTIONS");
+        response.setHeader("Access-Control-Allow-Headers", "Authorization, Content-Type, Cache-Control");
+        response.setHeader("Cache-Control", "no-cache, no-transform");
+        response.setHeader("Connection", "keep-alive");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
+        // 귓속말은 재전송이 없어 cursor를 쓰지 않음 (0 고정)
+        ChatSubscriber subscriber = new ChatSubscriber(chatSubscriberRegistry.nextConnectionId(), userId, emitter, null, 0L);
+        if (!subscriberRegistry.tryRegister(subscriber)) {
+            try {
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader("Retry-After", "10");
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding("UTF-8");
+                response.getWriter().write("{\"code\":503,\"message\":\"동시에 열 수 있는 귓속말 스트림 수를 초과했습니다.\"}");
+            } catch (Exception ignored) {}
+            return null;
+        }
+
+        Runnable cleanup = () -> removeSubscriber(subscriber);
+        subscriber.onClose(cleanup);
+        log.info("귓속말 SSE 연결: emitterId={}, userId={}", subscriber.getId(), userId);
+
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(ex -> cleanup.run());
+
+        try {
+            emitter.send(SseEmitter.event().name("connected").data("SSE connection established"));
+            WhisperStreamPublisher.unreadFrame(whisperRepository.countByToUserIdAndReadAtIsNull(userId))
+                    .writeTo(emitter);
+        } catch (IOException e) {
+            log.debug("귓속말 SSE 초기 이벤트 전송 실패: emitterId={}", subscriber.getId(), e);
+            removeSubscriber(subscriber);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        heartbeatWheel.add(subscriber);
+        return emitter;
+    }
+
+    private void removeSubscriber(ChatSubscriber subscriber) {
+        subscriber.markClosed();
+        subscriberRegistry.unregister(subscriber);
+        heartbeatWheel.remove(subscriber);
+    }
+}
@@ -3,8 +3,11 @@ package site.aiion.api.services.whisper;
 import org.springframework.data.domain.Pageable;
 import site.aiion.api.services.user.common.domain.Messenger;
 
+import java.util.List;
+
 public interface WhisperService {
     Messenger send(Long fromUserId, WhisperModel model);
     Messenger findInbox(Long toUserId, Pageable pageable);
     Messenger findSent(Long fromUserId, Pageable pageable);
+    Messenger markRead(Long toUserId, List<Long> ids);
 }
@@ -1,23 +1,30 @@
 package site.aiion.api.services.whisper;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import site.aiion.api.services.user.UserRepository;
-import site.aiion.api.services.user.User;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import site.aiion.api.services.user.UserNameResolver;
 import site.aiion.api.services.user.common.domain.Messenger;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WhisperServiceImpl implements WhisperService {
 
     private final WhisperRepository whisperRepository;
-    private final UserRepository userRepository;
+    private final UserNameResolver userNameResolver;
+    private final WhisperStreamPublisher streamPublisher;
 
     @Override
     @Transactional
@@ -38,42 +45,85 @@ public class WhisperServiceImpl implements WhisperService {
                 .build();
         WhisperMessage saved = whisperRepository.save(entity);
         WhisperModel savedModel = toModel(saved);
+        // 받는 사람이 SSE로 연결돼 있으면 커밋 후 바로 전송 (inbox 폴링 불필요)
+        afterCommit(() -> {
+            try {
+                streamPublisher.publish(savedModel);
+            } catch (Exception e) {
+                log.warn("귓속말 SSE 전송 실패 (메시지는 저장됨): whisperId={}", saved.getId(), e);
+            }
+        });
         return Messenger.builder().code(200).message("귓속말을 보냈습니다.").data(savedModel).build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Messenger findInbox(Long toUserId, Pageable pageable) {
-        List<WhisperMessage> list = whisperRepository.findByToUserIdOrderByCreatedAtDesc(toUserId, pageable);
-        List<WhisperModel> data = list.stream().map(this::toModel).collect(Collectors.toList());
+        List<WhisperModel> data = whisperRepository.findInboxModels(toUserId, pageable);
+        fillUsernames(data);
         return Messenger.builder().code(200).message("받은 귓속말").data(data).build();
     }
 
+    /** 받은 귓속말 읽음 처리 (본인이 받은 것만). 바뀐 unread 수는 커밋 후 연결된 스트림에 보냄 */
     @Override
+    @Transactional
+    public Messenger markRead(Long toUserId, List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Messenger.builder().code(400).message("읽음 처리할 귓속말 ID가 필요합니다.").build();
+        }
+        int updated = whisperRepository.markRead(toUserId, ids, LocalDateTime.now(ZoneId.of("Asia/Seoul")));
+        if (updated > 0) {
+            afterCommit(() -> {
+                try {
+                    streamPublisher.publishUnread(toUserId);
+                } catch (Exception e) {
+                    log.warn("귓속말 unread SSE 전송 실패: userId={}", toUserId, e);
+                }
+            });
+        }
+        return Messenger.builder().code(200).message("읽음 처리: " + updated + "건").data(updated).build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Messenger findSent(Long fromUserId, Pageable pageable) {
-        List<WhisperMessage> list = whisperRepository.findByFromUserIdOrderByCreatedAtDesc(fromUserId, pageable);
-        List<WhisperModel> data = list.stream().map(this::toModel).collect(Collectors.toList());
+        List<WhisperModel> data = whisperRepository.findSentModels(fromUserId, pageable);
+        fillUsernames(data);
         return Messenger.builder().code(200).message("보낸 귓속말").data(data).build();
     }
 
+    /** 트랜잭션 안이면 커밋 후에, 아니면 바로 실행 (롤백된 귓속말이 받는 사람에게 나가지 않도록) */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private WhisperModel toModel(WhisperMessage e) {
-        String fromName = null, toName = null;
-        if (e.getFromUserId() != null) {
-            Optional<User> u = userRepository.findById(e.getFromUserId());
-            fromName = u.map(uu -> uu.getNickname() != null && !uu.getNickname().isEmpty() ? uu.getNickname() : uu.getName()).orElse("사용자 " + e.getFromUserId());
+        WhisperModel model = new WhisperModel(e.getId(), e.getFromUserId(), e.getToUserId(),
+                e.getMessage(), e.getCreatedAt(), e.getReadAt());
+        fillUsernames(List.of(model));
+        return model;
+    }
+
+    /** 페이지 전체의 보낸/받은 사용자 이름을 한 번에 조회해 채움 (행마다 조회하지 않음) */
+    private void fillUsernames(List<WhisperModel> models) {
+        Set<Long> userIds = new HashSet<>();
+        for (WhisperModel m : models) {
+            userIds.add(m.getFromUserId());
+            userIds.add(m.getToUserId());
         }
-        if (e.getToUserId() != null) {
-            Optional<User> u = userRepository.findById(e.getToUserId());
-            toName = u.map(uu -> uu.getNickname() != null && !uu.getNickname().isEmpty() ? uu.getNickname() : uu.getName()).orElse("사용자 " + e.getToUserId());
+        Map<Long, String> names = userNameResolver.resolve(userIds);
+        for (WhisperModel m : models) {
+            m.setFromUsername(names.get(m.getFromUserId()));
+            m.setToUsername(names.get(m.getToUserId()));
         }
-        return WhisperModel.builder()
-                .id(e.getId())
-                .fromUserId(e.getFromUserId())
-                .toUserId(e.getToUserId())
-                .fromUsername(fromName)
-                .toUsername(toName)
-                .message(e.getMessage())
-                .createdAt(e.getCreatedAt())
-                .readAt(e.getReadAt())
-                .build();
     }
 }
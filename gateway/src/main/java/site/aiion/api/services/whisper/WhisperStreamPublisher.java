@@ -0,0 +1,60 @@
+package site.aiion.api.services.whisper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import site.aiion.api.services.groupchat.ChatDispatcher;
+import site.aiion.api.services.groupchat.ChatSubscriber;
+import site.aiion.api.services.groupchat.SseFrame;
+
+import java.util.Collection;
+
+/**
+ * 새 귓속말을 받는 사람의 SSE 연결로 바로 전송 (whisper 이벤트 + unread 이벤트, 저장 커밋 후 호출).
+ * 귓속말은 재전송(replay)이 없으므로 ID cursor로 거르지 않음: 동시에 저장된 귓속말은 ID 순서와 다르게 커밋될 수 있음.
+ * 받은 귓속말을 읽음 처리하면 그 사용자의 연결에 바뀐 unread 수를 보냄.
+ * 받는 사람이 연결돼 있지 않으면 아무것도 하지 않음 (다음 접속 시 inbox 조회).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WhisperStreamPublisher {
+
+    private final WhisperSubscriberRegistry subscriberRegistry;
+    private final ChatDispatcher chatDispatcher;
+    private final WhisperRepository whisperRepository;
+    private final ObjectMapper objectMapper;
+
+    public void publish(WhisperModel whisper) {
+        Collection<ChatSubscriber> subscribers = subscriberRegistry.subscribers(whisper.getToUserId());
+        if (subscribers.isEmpty()) return;
+        SseFrame message;
+        try {
+            message = SseFrame.event(String.valueOf(whisper.getId()), "whisper", objectMapper.writeValueAsString(whisper));
+        } catch (JsonProcessingException e) {
+            log.warn("귓속말 SSE 전송 실패: 직렬화 오류 whisperId={}", whisper.getId(), e);
+            return;
+        }
+        SseFrame unread = unreadFrame(whisperRepository.countByToUserIdAndReadAtIsNull(whisper.getToUserId()));
+        for (ChatSubscriber subscriber : subscribers) {
+            chatDispatcher.enqueue(subscriber, message);
+            chatDispatcher.enqueue(subscriber, unread);
+        }
+    }
+
+    /** 안 읽은 귓속말 수가 바뀐 경우 (읽음 처리 커밋 후) 그 사용자의 모든 연결에 unread 이벤트 */
+    public void publishUnread(Long userId) {
+        Collection<ChatSubscriber> subscribers = subscriberRegistry.subscribers(userId);
+        if (subscribers.isEmpty()) return;
+        SseFrame unread = unreadFrame(whisperRepository.countByToUserIdAndReadAtIsNull(userId));
+        for (ChatSubscriber subscriber : subscribers) {
+            chatDispatcher.enqueue(subscriber, unread);
+        }
+    }
+
+    public static SseFrame unreadFrame(long count) {
+        return SseFrame.event(null, "unread", "{\"count\":" + count + "}");
+    }
+}
@@ -0,0 +1,69 @@
+package site.aiion.api.services.whisper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.aiion.api.services.groupchat.ChatSubscriber;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 귓속말 SSE 구독자 목록 (한 사용자가 여러 탭/기기로 연결 가능).
+ * 연결 수 제한(사용자당, 노드 전체) 확인과 등록은 tryRegister에서 한 번에 처리 (동시 연결 시 초과 방지).
+ */
+@Component
+public class WhisperSubscriberRegistry {
+
+    private final ConcurrentHashMap<Long, Set<ChatSubscriber>> users = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final int maxPerUser;
+    private final int maxTotal;
+
+    public WhisperSubscriberRegistry(
+            @Value("${whisper.sse.max-connections-per-user:3}") int maxPerUser,
+            @Value("${whisper.sse.max-connections:5000}") int maxTotal) {
+        this.maxPerUser = maxPerUser;
+        this.maxTotal = maxTotal;
+    }
+
+    /** 사용자당·노드 전체 연결 수 제한 안에서만 등록. 초과하면 false */
+    public boolean tryRegister(ChatSubscriber subscriber) {
+        if (total.incrementAndGet() > maxTotal) {
+            total.decrementAndGet();
+            return false;
+        }
+        boolean[] added = {false};
+        // compute는 같은 사용자 키에 대해 원자적으로 실행되므로 크기 확인과 추가 사이에 끼어드는 연결 없음
+        users.compute(subscriber.getUserId(), (id, subs) -> {
+            if (subs == null) subs = ConcurrentHashMap.newKeySet();
+            if (subs.size() < maxPerUser) added[0] = subs.add(subscriber);
+            return subs.isEmpty() ? null : subs;
+        });
+        if (!added[0]) total.decrementAndGet();
+        return added[0];
+    }
+
+    public void unregister(ChatSubscriber subscriber) {
+        users.computeIfPresent(subscriber.getUserId(), (id, subs) -> {
+            if (subs.remove(subscriber)) total.decrementAndGet();
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    public Collection<ChatSubscriber> subscribers(Long userId) {
+        Set<ChatSubscriber> subs = users.get(userId);
+        return subs != null ? subs : List.of();
+    }
+
+    public int size(Long userId) {
+        return subscribers(userId).size();
+    }
+
+    /** 이 노드의 귓속말 연결 수 */
+    public int totalSize() {
+        return total.get();
+    }
+}
@@ -0,0 +1,120 @@
+package site.aiion.api.services.groupchat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ChatDispatcherTest {
+
+    private static final int CAPACITY = 2;
+
+    private SseEmitter emitter;
+    /** emitter에 실제로 쓰인 프레임 (전송 순서) */
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    /** 첫 write가 시작됐음을 알림 (writer가 첫 프레임을 꺼내 간 뒤 큐를 채우기 위함) */
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    /** 첫 write를 붙잡아 두는 느린 클라이언트 흉내 */
+    private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+    private ChatDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        emitter = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            Set<DataWithMediaType> payload = invocation.getArgument(0);
+            sent.add(new String((byte[]) payload.iterator().next().getData(), StandardCharsets.UTF_8));
+            if (sent.size() == 1) {
+                firstWriteStarted.countDown();
+                releaseFirstWrite.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(emitter).send(anySet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstWrite.countDown();
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    @Test
+    void DROP_OLDEST는_가장_오래된_대기_프레임을_버리고_나머지를_순서대로_보냄() throws Exception {
+        dispatcher = new ChatDispatcher(new SimpleMeterRegistry(), CAPACITY, ChatDispatcher.OverflowPolicy.DROP_OLDEST, 0, 64);
+        ChatSubscriber subscriber = new ChatSubscriber(1L, 10L, emitter, ChatRoomType.SILVER, 0L);
+
+        fillPastCapacity(subscriber);
+        releaseFirstWrite.countDown();
+
+        verify(emitter, timeout(5000).times(3)).send(anySet());
+        assertThat(sent).containsExactly(frame(1), frame(3), frame(4));
+        assertThat(subscriber.isClosed()).isFalse();
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    void DISCONNECT는_대기_프레임을_버리고_resync만_보낸_뒤_연결을_닫음() throws Exception {
+        dispatcher = new ChatDispatcher(new SimpleMeterRegistry(), CAPACITY, ChatDispatcher.OverflowPolicy.DISCONNECT, 0, 64);
+        ChatSubscriber subscriber = new ChatSubscriber(1L, 10L, emitter, ChatRoomType.SILVER, 0L);
+        AtomicInteger closeCalls = new AtomicInteger();
+        subscriber.onClose(closeCalls::incrementAndGet);
+
+        fillPastCapacity(subscriber);
+        assertThat(subscriber.isClosed()).isTrue();
+        // 닫힌 뒤 들어온 프레임은 무시
+        dispatcher.enqueue(subscriber, SseFrame.event("5", "message", "m5"));
+        releaseFirstWrite.countDown();
+
+        verify(emitter, timeout(5000)).complete();
+        assertThat(sent).containsExactly(frame(1), "event:resync\ndata:{\"reason\":\"overflow\"}\n\n");
+        assertThat(closeCalls).hasValue(1);
+        assertThat(subscriber.getPendingCount()).isZero();
+    }
+
+    @Test
+    void 배치_모드는_window_동안_쌓인_프레임을_한_번에_씀() throws Exception {
+        dispatcher = new ChatDispatcher(new SimpleMeterRegistry(), 16, ChatDispatcher.OverflowPolicy.DISCONNECT, 50, 64);
+        ChatSubscriber subscriber = new ChatSubscriber(1L, 10L, emitter, ChatRoomType.SILVER, 0L);
+        releaseFirstWrite.countDown();
+
+        for (int i = 1; i <= 3; i++) {
+            dispatcher.enqueue(subscriber, SseFrame.event(String.valueOf(i), "message", "m" + i));
+        }
+
+        verify(emitter, timeout(5000)).send(anySet());
+        assertThat(sent).containsExactly(frame(1) + frame(2) + frame(3));
+    }
+
+    /** 1번 프레임 write를 붙잡아 둔 채로 2·3번으로 큐를 채우고 4번에서 넘치게 함 */
+    private void fillPastCapacity(ChatSubscriber subscriber) throws InterruptedException {
+        dispatcher.enqueue(subscriber, SseFrame.event("1", "message", "m1"));
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 2; i <= CAPACITY + 2; i++) {
+            dispatcher.enqueue(subscriber, SseFrame.event(String.valueOf(i), "message", "m" + i));
+        }
+    }
+
+    private static String frame(int id) {
+        return "id:" + id + "\nevent:message\ndata:m" + id + "\n\n";
+    }
+}
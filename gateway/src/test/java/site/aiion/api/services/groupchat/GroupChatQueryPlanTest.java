@@ -0,0 +1,147 @@
+package site.aiion.api.services.groupchat;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * group_chats 조회·정리 쿼리가 GroupChat @Index를 타는지 확인하는 쿼리 플랜 회귀 테스트.
+ * Hibernate가 실제로 만든 SQL을 가로채 EXPLAIN (GENERIC_PLAN)으로 확인하고, Seq Scan이 있으면 실패.
+ * 빈 테이블에서도 인덱스 사용 가능 여부만 보도록 enable_seqscan = off (쓸 수 있는 인덱스가 없으면 그래도 Seq Scan).
+ * Docker가 없으면 건너뜀.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "site.aiion.api.services.groupchat.GroupChatQueryPlanTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class GroupChatQueryPlanTest {
+
+    /** EXPLAIN (GENERIC_PLAN)은 PostgreSQL 16부터 */
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    /** 단체채팅 엔티티·저장소만 올림 (다른 서비스 빈 없이) */
+    @SpringBootConfiguration
+    @AutoConfigurationPackage
+    static class JpaConfig {
+    }
+
+    /** Hibernate가 준비하는 SQL 기록 */
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private GroupChatRepository repository;
+    @Autowired
+    private DataSource dataSource;
+
+    private final LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
+
+    @BeforeEach
+    void clearStatements() {
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void 방별_최신_메시지는_방_생성시각_인덱스를_사용함() {
+        repository.findRecentModels(ChatRoomType.SILVER, cutoff, PageRequest.of(0, 50));
+
+        assertNoSeqScan(lastGroupChatStatement());
+    }
+
+    @Test
+    void 방별_lastId_이후_메시지는_인덱스를_사용함() {
+        repository.findByIdGreaterThanAndRoomTypeAndCreatedAtAfterOrderByCreatedAtAsc(100L, ChatRoomType.SILVER, cutoff);
+
+        assertNoSeqScan(lastGroupChatStatement());
+    }
+
+    @Test
+    void 방별_이전_메시지_keyset_페이지는_방_ID_인덱스를_사용함() {
+        repository.findByRoomTypeAndIdLessThanAndCreatedAtAfterOrderByIdDesc(
+                ChatRoomType.SILVER, 1000L, cutoff, PageRequest.of(0, 50));
+
+        assertNoSeqScan(lastGroupChatStatement());
+    }
+
+    @Test
+    void 보관_기간_정리_삭제는_생성시각_인덱스를_사용함() {
+        repository.deleteChunkCreatedBefore(cutoff, 1000);
+
+        assertNoSeqScan(lastGroupChatStatement());
+    }
+
+    private static String lastGroupChatStatement() {
+        List<String> statements = RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("group_chats"))
+                .toList();
+        assertThat(statements).as("group_chats 쿼리가 실행되지 않음").isNotEmpty();
+        return statements.get(statements.size() - 1);
+    }
+
+    private void assertNoSeqScan(String sql) {
+        String plan = explain(sql);
+        assertThat(plan).as("SQL:%n%s%n%nPLAN:%n%s", sql, plan).doesNotContain("Seq Scan");
+    }
+
+    /** JDBC ? 자리표시자를 $1, $2…로 바꿔 값 없이 일반 플랜을 구함 */
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int param = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') numbered.append('$').append(++param);
+            else numbered.append(c);
+        }
+        return new JdbcTemplate(dataSource).execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numbered)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
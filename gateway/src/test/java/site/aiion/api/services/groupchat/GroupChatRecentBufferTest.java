@@ -0,0 +1,173 @@
+package site.aiion.api.services.groupchat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GroupChatRecentBufferTest {
+
+    private static final int CAPACITY = 3;
+    private static final ChatRoomType ROOM = ChatRoomType.SILVER;
+
+    private final LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+    private GroupChatRepository repository;
+    private GroupChatRecentBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(GroupChatRepository.class);
+        buffer = new GroupChatRecentBuffer(repository, CAPACITY, true);
+    }
+
+    @Test
+    void 구독_전_STALE_상태에서는_추가를_무시하고_모든_조회를_DB로_보냄() {
+        buffer.append(model(1L, now));
+
+        assertThat(buffer.messagesAfter(ROOM, 0L)).isEmpty();
+        assertThat(buffer.latest(ROOM, 10)).isEmpty();
+        assertThat(buffer.retains(ROOM, 1L)).isNull();
+    }
+
+    @Test
+    void 예열_중_LOADING_상태에서는_새_메시지를_받아_두지만_조회는_DB로_보냄() {
+        List<Optional<List<GroupChatModel>>> duringLoad = new ArrayList<>();
+        when(repository.findByRoomTypeAndCreatedAtAfterOrderByIdDesc(eq(ROOM), any(LocalDateTime.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    buffer.append(model(3L, now));
+                    duringLoad.add(buffer.messagesAfter(ROOM, 0L));
+                    duringLoad.add(buffer.latest(ROOM, 10));
+                    return List.of(entity(2L, now), entity(1L, now));
+                });
+
+        buffer.activate(ROOM);
+
+        assertThat(duringLoad).containsOnly(Optional.empty());
+        assertThat(ids(buffer.messagesAfter(ROOM, 0L))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void 용량보다_적게_예열되면_빠짐없는_상태로_버퍼만으로_응답함() {
+        activateWith(entity(5L, now), entity(4L, now));
+
+        assertThat(ids(buffer.messagesAfter(ROOM, 0L))).containsExactly(4L, 5L);
+        assertThat(ids(buffer.messagesAfter(ROOM, 4L))).containsExactly(5L);
+        assertThat(ids(buffer.latest(ROOM, 10))).containsExactly(5L, 4L);
+        assertThat(buffer.retains(ROOM, 4L)).isTrue();
+    }
+
+    @Test
+    void 잘린_버퍼는_첫_ID보다_앞선_lastId와_부족한_latest를_DB로_보냄() {
+        activateWith(entity(3L, now), entity(2L, now), entity(1L, now));
+
+        // 용량만큼 채워졌으므로 1보다 오래된 메시지가 DB에 더 있을 수 있음
+        assertThat(buffer.messagesAfter(ROOM, 0L)).isEmpty();
+        assertThat(ids(buffer.messagesAfter(ROOM, 1L))).containsExactly(2L, 3L);
+
+        buffer.append(model(4L, now));
+
+        // 1이 밀려남
+        assertThat(buffer.messagesAfter(ROOM, 1L)).isEmpty();
+        assertThat(ids(buffer.messagesAfter(ROOM, 2L))).containsExactly(3L, 4L);
+        assertThat(ids(buffer.latest(ROOM, 2))).containsExactly(4L, 3L);
+        assertThat(buffer.latest(ROOM, 5)).isEmpty();
+    }
+
+    @Test
+    void retains는_버퍼의_첫_ID_이상이면_다른_방_ID도_남아_있는_것으로_봄() {
+        activateWith(entity(30L, now), entity(20L, now), entity(10L, now));
+        buffer.append(model(40L, now));
+
+        assertThat(buffer.retains(ROOM, 30L)).isTrue();
+        // 다른 방 메시지 ID (전역 시퀀스)
+        assertThat(buffer.retains(ROOM, 25L)).isTrue();
+        // 밀려난 범위는 버퍼만으로 판단 불가
+        assertThat(buffer.retains(ROOM, 10L)).isNull();
+        assertThat(buffer.retains(ROOM, 15L)).isNull();
+    }
+
+    @Test
+    void 보관_기간이_지난_메시지는_조회에서_빠지고_retains는_false() {
+        LocalDateTime expired = now.minusHours(25);
+        activateWith(entity(3L, now), entity(2L, now), entity(1L, expired));
+
+        assertThat(buffer.retains(ROOM, 1L)).isFalse();
+        assertThat(ids(buffer.messagesAfter(ROOM, 1L))).containsExactly(2L, 3L);
+        // 버퍼 안에서 보관 기간 경계에 닿았으므로 DB 조회 없이도 결과가 같음
+        assertThat(ids(buffer.latest(ROOM, 10))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void deactivate와_예열_실패는_STALE로_되돌림() {
+        activateWith(entity(1L, now));
+        buffer.deactivate(ROOM);
+
+        assertThat(buffer.messagesAfter(ROOM, 0L)).isEmpty();
+        buffer.append(model(2L, now));
+
+        when(repository.findByRoomTypeAndCreatedAtAfterOrderByIdDesc(eq(ROOM), any(LocalDateTime.class), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("db down"));
+        buffer.activate(ROOM);
+
+        assertThat(buffer.messagesAfter(ROOM, 0L)).isEmpty();
+        assertThat(buffer.latest(ROOM, 10)).isEmpty();
+        assertThat(buffer.retains(ROOM, 1L)).isNull();
+    }
+
+    @Test
+    void 전체_삭제_후에는_빈_버퍼로_빠짐없이_응답함() {
+        activateWith(entity(3L, now), entity(2L, now), entity(1L, now));
+
+        buffer.clear();
+
+        assertThat(buffer.messagesAfter(ROOM, 0L)).hasValue(List.of());
+        assertThat(buffer.latest(ROOM, 10)).hasValue(List.of());
+        // 사용 중이 아니던 방은 그대로 STALE
+        assertThat(buffer.latest(ChatRoomType.GOLD, 10)).isEmpty();
+    }
+
+    private void activateWith(GroupChat... latestFirst) {
+        when(repository.findByRoomTypeAndCreatedAtAfterOrderByIdDesc(eq(ROOM), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(latestFirst));
+        buffer.activate(ROOM);
+    }
+
+    private static List<Long> ids(Optional<List<GroupChatModel>> messages) {
+        assertThat(messages).isPresent();
+        return messages.get().stream().map(GroupChatModel::getId).toList();
+    }
+
+    private static GroupChat entity(long id, LocalDateTime createdAt) {
+        return GroupChat.builder()
+                .id(id)
+                .roomType(ROOM)
+                .userId(1L)
+                .username("사용자")
+                .message("m" + id)
+                .lookingForBuddy(false)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static GroupChatModel model(long id, LocalDateTime createdAt) {
+        return GroupChatModel.builder()
+                .id(id)
+                .roomType(ROOM.name())
+                .userId(1L)
+                .username("사용자")
+                .message("m" + id)
+                .createdAt(createdAt)
+                .build();
+    }
+}
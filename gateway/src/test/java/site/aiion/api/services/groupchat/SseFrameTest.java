@@ -0,0 +1,68 @@
+package site.aiion.api.services.groupchat;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SseFrameTest {
+
+    @Test
+    void event_인코딩은_SSE_규격을_따름() throws Exception {
+        SseFrame frame = SseFrame.event("7", "message", "첫 줄\n둘째 줄");
+        SseEmitter emitter = mock(SseEmitter.class);
+
+        frame.writeTo(emitter);
+
+        byte[] expected = "id:7\nevent:message\ndata:첫 줄\ndata:둘째 줄\n\n".getBytes(StandardCharsets.UTF_8);
+        assertThat(sentBytes(emitter)).isEqualTo(expected);
+        assertThat(frame.length()).isEqualTo(expected.length);
+        assertThat(frame.isEvent()).isTrue();
+        assertThat(SseFrame.comment("ping").isEvent()).isFalse();
+    }
+
+    @Test
+    void 같은_프레임은_모든_구독자에게_같은_바이트_배열로_전송됨() throws Exception {
+        SseFrame frame = SseFrame.event("1", "message", "{\"message\":\"안녕\"}");
+        SseEmitter first = mock(SseEmitter.class);
+        SseEmitter second = mock(SseEmitter.class);
+
+        frame.writeTo(first);
+        frame.writeTo(second);
+
+        byte[] sentToFirst = sentBytes(first);
+        byte[] sentToSecond = sentBytes(second);
+        // 구독자마다 다시 인코딩하지 않고 미리 인코딩한 배열을 그대로 씀
+        assertThat(sentToSecond).isSameAs(sentToFirst);
+        assertThat(new String(sentToFirst, StandardCharsets.UTF_8))
+                .isEqualTo("id:1\nevent:message\ndata:{\"message\":\"안녕\"}\n\n");
+    }
+
+    @Test
+    void writeAll은_프레임_바이트를_순서대로_이어_한_번에_전송함() throws Exception {
+        SseFrame a = SseFrame.event("1", "message", "a");
+        SseFrame b = SseFrame.comment("keep-alive");
+        SseEmitter emitter = mock(SseEmitter.class);
+
+        SseFrame.writeAll(emitter, List.of(a, b));
+
+        assertThat(new String(sentBytes(emitter), StandardCharsets.UTF_8))
+                .isEqualTo("id:1\nevent:message\ndata:a\n\n:keep-alive\n\n");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] sentBytes(SseEmitter emitter) throws Exception {
+        ArgumentCaptor<Set<DataWithMediaType>> captor = ArgumentCaptor.forClass(Set.class);
+        verify(emitter).send(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        return (byte[]) captor.getValue().iterator().next().getData();
+    }
+}
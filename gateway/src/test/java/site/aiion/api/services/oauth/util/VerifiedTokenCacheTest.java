@@ -0,0 +1,100 @@
+package site.aiion.api.services.oauth.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerifiedTokenCacheTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new VerifiedTokenCache(new SimpleMeterRegistry(), redisTemplate, mock(RedisConnectionFactory.class),
+                100, 2_592_000_000L);
+    }
+
+    @Test
+    void 만료된_토큰은_저장하지_않고_저장_후_만료되면_조회되지_않음() throws Exception {
+        Instant now = Instant.now();
+        cache.put("expired", principal("1", now.minusSeconds(60), now.minusSeconds(1)));
+        cache.put("short", principal("1", now, now.plusMillis(200)));
+        cache.put("long", principal("1", now, now.plusSeconds(600)));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("short")).isNotNull();
+
+        Thread.sleep(300);
+
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isNotNull();
+    }
+
+    @Test
+    void revoke는_이전_초에_발급된_토큰만_거부하고_같은_초에_발급된_토큰은_유지함() {
+        long before = Instant.now().getEpochSecond();
+        cache.revoke("1");
+        long after = Instant.now().getEpochSecond();
+
+        assertThat(cache.isRevoked(principal("1", Instant.ofEpochSecond(before - 1), null))).isTrue();
+        // 로그아웃 직후 같은 초(또는 그 이후)에 재로그인한 토큰
+        assertThat(cache.isRevoked(principal("1", Instant.ofEpochSecond(after), null))).isFalse();
+        // 발급 시각을 알 수 없는 토큰
+        assertThat(cache.isRevoked(principal("1", null, null))).isTrue();
+        // 다른 사용자
+        assertThat(cache.isRevoked(principal("2", Instant.ofEpochSecond(before - 1), null))).isFalse();
+        verify(valueOperations).set(eq("jwt:revoked:1"), anyString(), eq(2_592_000L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void 폐기_경계_초와_같은_초에_발급된_토큰은_유지되고_그_전_토큰은_캐시에서_제거됨() {
+        long boundary = Instant.now().getEpochSecond();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        cache.put("old", principal("1", Instant.ofEpochSecond(boundary - 1), expiresAt));
+        cache.put("same", principal("1", Instant.ofEpochSecond(boundary), expiresAt));
+
+        // 다른 노드의 폐기 알림
+        cache.onMessage(new DefaultMessage("jwt:revoked".getBytes(StandardCharsets.UTF_8),
+                ("1:" + boundary).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cache.get("old")).isNull();
+        assertThat(cache.get("same")).isNotNull();
+        assertThat(cache.isRevoked(cache.get("same"))).isFalse();
+    }
+
+    @Test
+    void Redis에_남은_폐기_기록을_처음_보는_토큰_검증_때_반영함() {
+        long boundary = Instant.now().getEpochSecond();
+        when(valueOperations.get("jwt:revoked:1")).thenReturn(String.valueOf(boundary));
+
+        cache.loadRevocation("1");
+
+        assertThat(cache.isRevoked(principal("1", Instant.ofEpochSecond(boundary - 1), null))).isTrue();
+        assertThat(cache.isRevoked(principal("1", Instant.ofEpochSecond(boundary), null))).isFalse();
+    }
+
+    private static JwtPrincipal principal(String userId, Instant issuedAt, Instant expiresAt) {
+        return new JwtPrincipal(userId, "kakao", "access", issuedAt, expiresAt);
+    }
+}
@@ -0,0 +1,81 @@
+package site.aiion.api.services.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class UserNameResolverTest {
+
+    private record Summary(Long id, String name, String nickname) implements UserSummary {
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getEmail() { return null; }
+        public String getNickname() { return nickname; }
+        public Integer getHonor() { return 0; }
+    }
+
+    private UserRepository userRepository;
+    private UserNameResolver resolver;
+    /** findSummariesByIdIn에 넘어간 ID (호출 시점 복사본, resolver가 호출 후 집합을 재사용하므로) */
+    private final List<List<Long>> requestedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findSummariesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            requestedIds.add(List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+            return List.of(new Summary(1L, "김철수", "철수"), new Summary(2L, "이영희", null),
+                    new Summary(4L, null, ""), new Summary(5L, "", null));
+        });
+        resolver = new UserNameResolver(userRepository, 60);
+    }
+
+    @Test
+    void 수신함_한_페이지의_사용자_이름을_IN_조회_한_번으로_가져옴() {
+        // 귓속말 3건의 보낸/받은 사용자 ID (중복 포함)
+        List<Long> userIds = List.of(1L, 2L, 1L, 2L, 1L, 3L);
+
+        Map<Long, String> names = resolver.resolve(userIds);
+
+        assertThat(names).containsEntry(1L, "철수")      // 닉네임 우선
+                .containsEntry(2L, "이영희")              // 닉네임이 없으면 이름
+                .containsEntry(3L, "사용자 3");           // 없는 사용자
+        verify(userRepository, times(1)).findSummariesByIdIn(any());
+        assertThat(requestedIds).hasSize(1);
+        assertThat(requestedIds.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void 두_번째_조회는_캐시에서_응답하고_저장소를_다시_조회하지_않음() {
+        resolver.resolve(List.of(1L, 2L));
+
+        Map<Long, String> names = resolver.resolve(List.of(2L, 1L));
+
+        assertThat(names).containsEntry(1L, "철수").containsEntry(2L, "이영희");
+        verify(userRepository, times(1)).findSummariesByIdIn(any());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void 닉네임과_이름이_모두_비어_있으면_사용자_ID로_표시함() {
+        Map<Long, String> names = resolver.resolve(List.of(4L, 5L));
+
+        assertThat(names).containsEntry(4L, "사용자 4").containsEntry(5L, "사용자 5");
+        // 캐시에도 같은 값으로 남음
+        assertThat(resolver.resolve(4L)).isEqualTo("사용자 4");
+        verify(userRepository, times(1)).findSummariesByIdIn(any());
+    }
+}
@@ -0,0 +1,92 @@
+package site.aiion.api.services.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.aiion.api.services.oauth.util.TokenHash;
+import site.aiion.api.services.user.common.domain.Messenger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplRotateRefreshTokenTest {
+
+    private static final long USER_ID = 7L;
+    private static final String CURRENT = "current-refresh-token";
+    private static final String NEXT = "next-refresh-token";
+
+    private UserRepository userRepository;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userService = new UserServiceImpl(userRepository, mock(HonorVoteRepository.class),
+                mock(UserNameResolver.class), mock(UserHonorCache.class));
+        ReflectionTestUtils.setField(userService, "refreshRotationGraceSeconds", 10L);
+    }
+
+    @Test
+    void 저장된_토큰과_일치하면_해시로_교체하고_200() {
+        when(userRepository.rotateRefreshToken(eq(USER_ID), anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        Messenger result = userService.rotateRefreshToken(USER_ID, CURRENT, NEXT);
+
+        assertThat(result.getCode()).isEqualTo(200);
+        // 원문은 기존 행 비교용으로만 넘기고 저장은 해시로
+        verify(userRepository).rotateRefreshToken(eq(USER_ID), eq(TokenHash.sha256(CURRENT)), eq(CURRENT),
+                eq(TokenHash.sha256(NEXT)), any(LocalDateTime.class));
+        verify(userRepository, never()).existsRecentlyRotated(anyLong(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void 유예_시간_안에_다른_요청이_방금_교체한_토큰이면_409() {
+        when(userRepository.rotateRefreshToken(eq(USER_ID), anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(userRepository.existsRecentlyRotated(eq(USER_ID), eq(TokenHash.sha256(CURRENT)), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        Messenger result = userService.rotateRefreshToken(USER_ID, CURRENT, NEXT);
+
+        assertThat(result.getCode()).isEqualTo(409);
+        // 유예 기준 시각은 한국 시간 기준 지금 - grace
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRepository).existsRecentlyRotated(eq(USER_ID), eq(TokenHash.sha256(CURRENT)), since.capture());
+        LocalDateTime expected = LocalDateTime.now(ZoneId.of("Asia/Seoul")).minusSeconds(10);
+        assertThat(Duration.between(since.getValue(), expected).abs()).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void 일치하지도_최근_교체되지도_않은_토큰이면_401() {
+        when(userRepository.rotateRefreshToken(eq(USER_ID), anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(userRepository.existsRecentlyRotated(eq(USER_ID), anyString(), any(LocalDateTime.class)))
+                .thenReturn(false);
+
+        Messenger result = userService.rotateRefreshToken(USER_ID, CURRENT, NEXT);
+
+        assertThat(result.getCode()).isEqualTo(401);
+    }
+
+    @Test
+    void 필수값이_없으면_저장소를_건드리지_않고_400() {
+        Messenger result = userService.rotateRefreshToken(USER_ID, null, NEXT);
+
+        assertThat(result.getCode()).isEqualTo(400);
+        verifyNoInteractions(userRepository);
+    }
+}